@@ -0,0 +1,24 @@
+package com.service.account.DTO;
+
+import com.service.account.model.AccountType;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class AccountStatisticsDTO {
+    private Map<AccountType, AccountTotalsDTO> byType;
+    private List<CohortTotalsDTO> cohorts;
+    /**
+     * Last time the totals were recomputed from the account table; null until the first reconciliation.
+     */
+    private Instant reconciledAt;
+}
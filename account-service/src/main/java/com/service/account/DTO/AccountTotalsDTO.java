@@ -0,0 +1,15 @@
+package com.service.account.DTO;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class AccountTotalsDTO {
+    private long accounts;
+    private double balance;
+}
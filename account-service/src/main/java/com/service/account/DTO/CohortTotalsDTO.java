@@ -0,0 +1,21 @@
+package com.service.account.DTO;
+
+import com.service.account.model.AccountType;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class CohortTotalsDTO {
+    /**
+     * Month the accounts were opened in (yyyy-MM, UTC); null when unknown.
+     */
+    private String cohort;
+    private AccountType type;
+    private long accounts;
+    private double balance;
+}
@@ -0,0 +1,8 @@
+package com.service.account.audit;
+
+public enum AuditAction {
+    CREATE,
+    UPDATE,
+    BALANCE_CHANGE,
+    DELETE
+}
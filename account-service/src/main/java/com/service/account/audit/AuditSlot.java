@@ -0,0 +1,35 @@
+package com.service.account.audit;
+
+/**
+ * Room in the audit buffer reserved before the change it describes is made, so a
+ * saturated audit trail turns the request away while nothing has been written
+ * yet. Publish once the change has committed; closing a slot that was never
+ * published gives the room back.
+ */
+public final class AuditSlot implements AutoCloseable {
+
+    private final AuditLogger auditLogger;
+    private final boolean reserved;
+    private boolean done;
+
+    AuditSlot(AuditLogger auditLogger, boolean reserved) {
+        this.auditLogger = auditLogger;
+        this.reserved = reserved;
+    }
+
+    public void publish(AuditAction action, String entityType, Object entityId, Object before, Object after) {
+        if (done) {
+            throw new IllegalStateException("Audit slot has already been published or closed");
+        }
+        done = true;
+        auditLogger.publish(reserved, action, entityType, entityId, before, after);
+    }
+
+    @Override
+    public void close() {
+        if (!done) {
+            done = true;
+            auditLogger.cancel(reserved);
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.service.account.audit;
+
+import com.service.account.exception.AuditBufferFullException;
+
+/**
+ * What a request does when the audit buffer is full.
+ */
+public enum OverflowPolicy {
+    /**
+     * Wait for the writer to free a slot, up to {@code audit.block-timeout}, then reject.
+     */
+    BLOCK,
+    /**
+     * Fail the request immediately with {@link AuditBufferFullException}.
+     */
+    REJECT,
+    /**
+     * Drop the event and count it in {@code audit.events.dropped}. Not compliant; for tests and load experiments.
+     */
+    DROP
+}
@@ -0,0 +1,47 @@
+package com.service.account.client;
+
+import com.service.customer.grpc.CustomerExistence;
+import com.service.customer.grpc.CustomerIds;
+import com.service.customer.grpc.CustomerLookupGrpc;
+import net.devh.boot.grpc.client.inject.GrpcClient;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Customer existence checks over customer-service's gRPC API. The channel is
+ * resolved through Eureka and kept open, so every lookup is multiplexed over
+ * one HTTP/2 connection per customer-service instance.
+ */
+@Component
+public class CustomerLookupClient {
+
+    private static final long DEADLINE_MILLIS = 2000;
+
+    @GrpcClient("customer-service")
+    private CustomerLookupGrpc.CustomerLookupBlockingStub stub;
+
+    public boolean exists(Long customerId) {
+        return findExisting(Set.of(customerId)).contains(customerId);
+    }
+
+    public Set<Long> findExisting(Collection<Long> customerIds) {
+        CustomerIds request = CustomerIds.newBuilder().addAllIds(customerIds).build();
+        Iterator<CustomerExistence> answers = stub
+                .withDeadlineAfter(DEADLINE_MILLIS, TimeUnit.MILLISECONDS)
+                .exists(request);
+        Set<Long> existing = new HashSet<>();
+        // Drain the stream completely so the call is closed rather than left to the deadline.
+        while (answers.hasNext()) {
+            CustomerExistence answer = answers.next();
+            if (answer.getExists()) {
+                existing.add(answer.getId());
+            }
+        }
+        return existing;
+    }
+}
@@ -1,16 +1,23 @@
 package com.service.account.config;
 
-import org.springframework.cloud.client.loadbalancer.LoadBalanced;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.web.client.RestTemplate;
+import org.springframework.context.annotation.ImportRuntimeHints;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
 
 @Configuration
+@ImportRuntimeHints(GrpcRuntimeHints.class)
 public class AppConfig {
 
+    /**
+     * Jackson's binary JSON encoding, offered next to JSON by the REST endpoints.
+     */
+    public static final String APPLICATION_SMILE_VALUE = "application/x-jackson-smile";
+
     @Bean
-    @LoadBalanced
-    public RestTemplate restTemplate() {
-        return new RestTemplate();
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2SmileHttpMessageConverter(builder.factory(new SmileFactory()).build());
     }
 }
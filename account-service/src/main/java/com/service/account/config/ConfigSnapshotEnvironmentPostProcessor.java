@@ -0,0 +1,66 @@
+package com.service.account.config;
+
+import org.apache.commons.logging.Log;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.context.config.ConfigDataEnvironmentPostProcessor;
+import org.springframework.boot.env.EnvironmentPostProcessor;
+import org.springframework.boot.logging.DeferredLogFactory;
+import org.springframework.core.Ordered;
+import org.springframework.core.env.ConfigurableEnvironment;
+import org.springframework.core.env.MutablePropertySources;
+import org.springframework.core.env.PropertiesPropertySource;
+import org.springframework.core.env.PropertySource;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Properties;
+
+/**
+ * Falls back to the last config snapshot when config-service could not be
+ * reached during startup. The snapshot takes the place config-service would
+ * have had: above the packaged application.yml, below system properties and
+ * command line arguments.
+ */
+public class ConfigSnapshotEnvironmentPostProcessor implements EnvironmentPostProcessor, Ordered {
+
+    static final String PROPERTY_SOURCE_NAME = "configSnapshot";
+
+    private final Log log;
+
+    public ConfigSnapshotEnvironmentPostProcessor(DeferredLogFactory logFactory) {
+        this.log = logFactory.getLog(ConfigSnapshotEnvironmentPostProcessor.class);
+    }
+
+    @Override
+    public void postProcessEnvironment(ConfigurableEnvironment environment, SpringApplication application) {
+        MutablePropertySources sources = environment.getPropertySources();
+        if (sources.stream().anyMatch(ConfigSnapshot::isFromConfigServer)
+                || !environment.getProperty("spring.cloud.config.enabled", Boolean.class, true)) {
+            return;
+        }
+        Path location = ConfigSnapshot.location(environment);
+        if (!Files.isReadable(location)) {
+            return;
+        }
+        Properties snapshot = new Properties();
+        try (Reader reader = Files.newBufferedReader(location)) {
+            snapshot.load(reader);
+        } catch (IOException e) {
+            log.warn("Could not read config snapshot " + location, e);
+            return;
+        }
+        log.warn("config-service unavailable, starting from config snapshot " + location.toAbsolutePath());
+        PropertySource<?> source = new PropertiesPropertySource(PROPERTY_SOURCE_NAME, snapshot);
+        sources.stream()
+                .filter(existing -> existing.getName().startsWith("Config resource"))
+                .findFirst()
+                .ifPresentOrElse(first -> sources.addBefore(first.getName(), source), () -> sources.addLast(source));
+    }
+
+    @Override
+    public int getOrder() {
+        return ConfigDataEnvironmentPostProcessor.ORDER + 1;
+    }
+}
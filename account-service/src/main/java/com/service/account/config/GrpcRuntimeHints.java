@@ -0,0 +1,29 @@
+package com.service.account.config;
+
+import com.service.account.client.CustomerLookupClient;
+import com.service.customer.grpc.CustomerExistence;
+import com.service.customer.grpc.CustomerIds;
+import com.service.customer.grpc.CustomerRecord;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+
+import java.util.List;
+
+/**
+ * Reflection the native image needs for gRPC: protobuf resolves message accessors
+ * reflectively, and the @GrpcClient stub is injected into a field.
+ */
+public class GrpcRuntimeHints implements RuntimeHintsRegistrar {
+
+    @Override
+    public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+        for (Class<?> message : List.of(CustomerIds.class, CustomerExistence.class, CustomerRecord.class)) {
+            hints.reflection().registerType(message, MemberCategory.INVOKE_PUBLIC_METHODS);
+            for (Class<?> nested : message.getDeclaredClasses()) {
+                hints.reflection().registerType(nested, MemberCategory.INVOKE_PUBLIC_METHODS);
+            }
+        }
+        hints.reflection().registerType(CustomerLookupClient.class, MemberCategory.DECLARED_FIELDS);
+    }
+}
@@ -0,0 +1,79 @@
+package com.service.account.config;
+
+import com.service.account.sharding.ShardRouter;
+import com.service.account.sharding.ShardRoutingDataSource;
+import com.service.account.sharding.ShardSchemaInitializer;
+import com.service.account.sharding.ShardingProperties;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.jpa.boot.internal.EntityManagerFactoryBuilderImpl;
+import org.hibernate.jpa.boot.spi.IntegratorProvider;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+@Configuration
+@EnableConfigurationProperties(ShardingProperties.class)
+public class ShardingConfig {
+
+    static final String DEFAULT_SHARD = "shard0";
+
+    @Bean
+    public ShardRouter shardRouter(ShardingProperties properties) {
+        List<String> shards = properties.getShards().isEmpty()
+                ? List.of(DEFAULT_SHARD)
+                : properties.getShards().stream().map(ShardingProperties.Shard::getName).toList();
+        return new ShardRouter(shards, properties.getVirtualNodes());
+    }
+
+    @Bean
+    public ShardRoutingDataSource dataSource(ShardingProperties properties, DataSourceProperties dataSourceProperties,
+                                             Environment environment, ObjectProvider<MeterRegistry> meterRegistry) {
+        List<DataSource> shards = new ArrayList<>();
+        if (properties.getShards().isEmpty()) {
+            shards.add(pool(DEFAULT_SHARD, dataSourceProperties.initializeDataSourceBuilder(), environment, meterRegistry));
+        }
+        for (ShardingProperties.Shard shard : properties.getShards()) {
+            shards.add(pool(shard.getName(), DataSourceBuilder.create()
+                    .url(shard.getUrl())
+                    .username(shard.getUsername() == null ? dataSourceProperties.determineUsername() : shard.getUsername())
+                    .password(shard.getPassword() == null ? dataSourceProperties.determinePassword() : shard.getPassword()),
+                    environment, meterRegistry));
+        }
+        return new ShardRoutingDataSource(shards);
+    }
+
+    @Bean
+    public ShardSchemaInitializer shardSchemaInitializer(ShardRouter shardRouter) {
+        return new ShardSchemaInitializer(shardRouter);
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer shardSchemaIntegrator(ShardSchemaInitializer shardSchemaInitializer) {
+        return properties -> properties.put(EntityManagerFactoryBuilderImpl.INTEGRATOR_PROVIDER,
+                (IntegratorProvider) () -> List.of(shardSchemaInitializer));
+    }
+
+    // Every shard gets its own pool, sized by the usual spring.datasource.hikari settings.
+    // Boot only instruments pools it can find as beans, so the hikaricp.* meters are registered here.
+    private static HikariDataSource pool(String name, DataSourceBuilder<?> builder, Environment environment,
+                                         ObjectProvider<MeterRegistry> meterRegistry) {
+        HikariDataSource pool = builder.type(HikariDataSource.class).build();
+        Binder.get(environment).bind("spring.datasource.hikari", Bindable.ofInstance(pool));
+        pool.setPoolName(name);
+        meterRegistry.ifAvailable(registry -> pool.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(registry)));
+        return pool;
+    }
+}
@@ -1,9 +1,12 @@
 package com.service.account.controller;
 
 import com.service.account.DTO.AccountDTO;
+import com.service.account.DTO.AccountStatisticsDTO;
 import com.service.account.DTO.CreateAccountDTO;
+import com.service.account.config.AppConfig;
 import com.service.account.service.AccountService;
 import jakarta.validation.Valid;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -11,7 +14,7 @@ import java.util.List;
 
 
 @RestController
-@RequestMapping("/accounts")
+@RequestMapping(value = "/accounts", produces = {MediaType.APPLICATION_JSON_VALUE, AppConfig.APPLICATION_SMILE_VALUE})
 public class AccountController {
 
     private final AccountService service;
@@ -34,5 +37,10 @@ public class AccountController {
     public ResponseEntity<List<AccountDTO>> getAccountsByCustomer(@PathVariable Long customerId) {
         return ResponseEntity.ok(service.getAccountsByCustomerId(customerId));
     }
+
+    @GetMapping("/stats")
+    public ResponseEntity<AccountStatisticsDTO> getStatistics() {
+        return ResponseEntity.ok(service.getStatistics());
+    }
 }
 
@@ -13,5 +13,6 @@ public interface AccountMapper {
     AccountDTO toDTO(Account account);
 
     @Mapping(target = "id", ignore = true)
+    @Mapping(target = "openedAt", ignore = true)
     Account fromCreateDTO(CreateAccountDTO createAccountDTO);
 }
@@ -1,21 +1,29 @@
 package com.service.account.model;
 
+import com.service.account.sharding.ShardedId;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.Instant;
 
 @Entity
+@Table(indexes = @Index(name = "idx_account_client_id_type", columnList = "clientId, type"))
 @Getter @Setter
 @NoArgsConstructor
 @AllArgsConstructor
 public class Account {
     @Id
-    @GeneratedValue(strategy = GenerationType.AUTO)
+    @ShardedId(sequence = "account_shard_seq")
     private Long id;
     private Double balance;
     @Enumerated(EnumType.STRING)
     private AccountType type;
     private Long clientId;
+    @CreationTimestamp
+    @Column(updatable = false)
+    private Instant openedAt;
 }
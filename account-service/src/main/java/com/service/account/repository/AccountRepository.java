@@ -2,9 +2,13 @@ package com.service.account.repository;
 
 import com.service.account.model.Account;
 import com.service.account.model.AccountType;
+import com.service.account.sharding.ShardRouter;
+import com.service.account.stats.AccountTotals;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -12,4 +16,16 @@ public interface AccountRepository extends JpaRepository<Account, Long> {
     List<Account> findByClientId(Long customerId);
     boolean existsByClientIdAndType(Long clientId, AccountType type);
 
+    @Query("select a.type as type, extract(year from a.openedAt) as year, extract(month from a.openedAt) as month, "
+            + "case when a.id >= " + ShardRouter.FIRST_SHARDED_ID + " then mod(a.id, " + ShardRouter.BUCKETS + ") end as bucket, "
+            + "case when a.id < " + ShardRouter.FIRST_SHARDED_ID + " then a.clientId end as clientId, "
+            + "count(a) as accounts, sum(a.balance) as balance from Account a "
+            + "group by a.type, extract(year from a.openedAt), extract(month from a.openedAt), "
+            + "case when a.id >= " + ShardRouter.FIRST_SHARDED_ID + " then mod(a.id, " + ShardRouter.BUCKETS + ") end, "
+            + "case when a.id < " + ShardRouter.FIRST_SHARDED_ID + " then a.clientId end")
+    List<AccountTotals> summarize();
+
+    @Query("select a.id from Account a where a.id in :ids")
+    List<Long> findExistingIds(Collection<Long> ids);
+
 }
\ No newline at end of file
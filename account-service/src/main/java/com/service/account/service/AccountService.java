@@ -2,6 +2,7 @@ package com.service.account.service;
 
 
 import com.service.account.DTO.AccountDTO;
+import com.service.account.DTO.AccountStatisticsDTO;
 import com.service.account.DTO.CreateAccountDTO;
 
 import java.util.List;
@@ -11,4 +12,5 @@ public interface AccountService {
     AccountDTO createAccount(CreateAccountDTO createAccountDTO);
     AccountDTO getAccountById(Long id);
     List<AccountDTO> getAccountsByCustomerId(Long customerId);
+    AccountStatisticsDTO getStatistics();
 }
@@ -1,55 +1,76 @@
 package com.service.account.service.impl;
 
 import com.service.account.DTO.AccountDTO;
+import com.service.account.DTO.AccountStatisticsDTO;
 import com.service.account.DTO.CreateAccountDTO;
+import com.service.account.audit.AuditAction;
+import com.service.account.audit.AuditLogger;
+import com.service.account.audit.AuditSlot;
+import com.service.account.client.CustomerLookupClient;
 import com.service.account.exception.CustomerNotFoundException;
 import com.service.account.mapper.AccountMapper;
 import com.service.account.model.Account;
 import com.service.account.repository.AccountRepository;
 import com.service.account.service.AccountService;
+import com.service.account.sharding.ShardRouter;
+import com.service.account.stats.AccountStatistics;
 import org.springframework.stereotype.Service;
-import org.springframework.web.client.RestTemplate;
 
 import java.util.List;
 
 @Service
 public class AccountServiceImpl implements AccountService {
     private final AccountRepository repository;
-    private final RestTemplate restTemplate;
+    private final CustomerLookupClient customerLookupClient;
     private final AccountMapper mapper;
+    private final AuditLogger auditLogger;
+    private final AccountStatistics statistics;
+    private final ShardRouter shards;
 
-    public AccountServiceImpl(AccountRepository repository, RestTemplate restTemplate, AccountMapper mapper) {
+    public AccountServiceImpl(AccountRepository repository, CustomerLookupClient customerLookupClient,
+                              AccountMapper mapper, AuditLogger auditLogger, AccountStatistics statistics,
+                              ShardRouter shards) {
         this.repository = repository;
-        this.restTemplate = restTemplate;
+        this.customerLookupClient = customerLookupClient;
         this.mapper = mapper;
+        this.auditLogger = auditLogger;
+        this.statistics = statistics;
+        this.shards = shards;
     }
 
     public AccountDTO createAccount(CreateAccountDTO createAccountDTO) {
-        String customerServiceUrl = "http://CUSTOMER-SERVICE/customers/" + createAccountDTO.getClientId();
-        var response = restTemplate.getForEntity(customerServiceUrl, Object.class);
-
-        if (!response.getStatusCode().is2xxSuccessful()) {
+        if (!customerLookupClient.exists(createAccountDTO.getClientId())) {
             throw new CustomerNotFoundException(createAccountDTO.getClientId());
         }
-        boolean accountExists = repository.existsByClientIdAndType(createAccountDTO.getClientId(), createAccountDTO.getType());
-        if (accountExists) {
-            throw new RuntimeException("Client already has a " + createAccountDTO.getType() + " account.");
+        try (AuditSlot audit = auditLogger.reserve()) {
+            Account saved = shards.onClient(createAccountDTO.getClientId(), () -> {
+                boolean accountExists = repository.existsByClientIdAndType(createAccountDTO.getClientId(), createAccountDTO.getType());
+                if (accountExists) {
+                    throw new RuntimeException("Client already has a " + createAccountDTO.getType() + " account.");
+                }
+                return repository.save(mapper.fromCreateDTO(createAccountDTO));
+            });
+            statistics.accountOpened(saved);
+            AccountDTO created = mapper.toDTO(saved);
+            audit.publish(AuditAction.CREATE, "Account", created.getId(), null, created);
+            return created;
         }
-
-        Account account = mapper.fromCreateDTO(createAccountDTO);
-        return mapper.toDTO(repository.save(account));
     }
 
     public AccountDTO getAccountById(Long id) {
-        return repository.findById(id)
+        return shards.findAccount(id, () -> repository.findById(id))
                 .map(mapper::toDTO)
                 .orElseThrow(() -> new RuntimeException("Account not found with ID: " + id));
     }
 
     public List<AccountDTO> getAccountsByCustomerId(Long customerId) {
-        return repository.findByClientId(customerId)
+        return shards.onClient(customerId, () -> repository.findByClientId(customerId))
                 .stream()
                 .map(mapper::toDTO)
                 .toList();
     }
+
+    public AccountStatisticsDTO getStatistics() {
+        return statistics.snapshot();
+    }
 }
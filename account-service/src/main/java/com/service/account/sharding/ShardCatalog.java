@@ -0,0 +1,130 @@
+package com.service.account.sharding;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.function.Supplier;
+
+/**
+ * Which shard each bucket currently lives on, kept in a table on the first shard
+ * so every instance routes the same way. Instances re-read it every
+ * {@code sharding.catalog-refresh}, and it records when each bucket last moved so
+ * the rebalancer knows when no instance routes a bucket to its old shard anymore.
+ */
+@Component
+@DependsOn("entityManagerFactory")
+public class ShardCatalog {
+
+    private static final Logger log = LoggerFactory.getLogger(ShardCatalog.class);
+
+    static final String TABLE = "account_shard_bucket";
+
+    private final ShardRouter router;
+    private final JdbcTemplate jdbc;
+    private final Duration settleTime;
+    private volatile Instant[] movedAt = new Instant[ShardRouter.BUCKETS];
+
+    public ShardCatalog(ShardRouter router, JdbcTemplate jdbc, ShardingProperties properties) {
+        this.router = router;
+        this.jdbc = jdbc;
+        // one refresh for every instance to pick up a move, one more for requests routed before it
+        this.settleTime = properties.getCatalogRefresh().multipliedBy(2);
+        load();
+    }
+
+    @Scheduled(initialDelayString = "${sharding.catalog-refresh:PT30S}", fixedDelayString = "${sharding.catalog-refresh:PT30S}")
+    public void refresh() {
+        try {
+            load();
+        } catch (DataAccessException | IllegalArgumentException e) {
+            log.warn("Could not reload the shard catalog, keeping the current routing: {}", e.getMessage());
+        }
+    }
+
+    public void assign(int bucket, String shard) {
+        router.indexOf(shard);
+        Instant now = Instant.now();
+        onCatalog(() -> jdbc.update("update " + TABLE + " set shard = ?, moved_at = ? where bucket = ?",
+                shard, Timestamp.from(now), bucket));
+        router.assign(bucket, shard);
+        Instant[] updated = movedAt.clone();
+        updated[bucket] = now;
+        movedAt = updated;
+    }
+
+    /**
+     * Whether every instance has been routing the bucket to its current shard for a while.
+     */
+    public boolean settled(int bucket) {
+        Instant moved = movedAt[bucket];
+        return moved == null || !moved.plus(settleTime).isAfter(Instant.now());
+    }
+
+    void load() {
+        Snapshot snapshot = onCatalog(() -> {
+            jdbc.execute("create table if not exists " + TABLE
+                    + " (bucket integer primary key, shard varchar(64) not null, moved_at timestamp)");
+            return read();
+        });
+        int missing = 0;
+        for (String shard : snapshot.shards()) {
+            if (shard == null) {
+                missing++;
+            }
+        }
+        if (missing > 0) {
+            snapshot = initialize(snapshot.shards(), missing == ShardRouter.BUCKETS);
+        }
+        router.assignAll(snapshot.shards());
+        movedAt = snapshot.movedAt();
+    }
+
+    /**
+     * A fresh deployment places buckets where the ring wants them. Anything else keeps
+     * unassigned buckets on the first shard, which is where accounts lived before
+     * sharding, and leaves moving them to the rebalancer.
+     */
+    private Snapshot initialize(String[] assignment, boolean empty) {
+        String first = router.shards().get(0);
+        boolean fresh = empty && onCatalog(() -> jdbc.queryForObject("select count(*) from account", Long.class)) == 0;
+        return onCatalog(() -> {
+            for (int bucket = 0; bucket < ShardRouter.BUCKETS; bucket++) {
+                if (assignment[bucket] == null) {
+                    try {
+                        jdbc.update("insert into " + TABLE + " (bucket, shard) values (?, ?)",
+                                bucket, fresh ? router.targetOf(bucket) : first);
+                    } catch (DuplicateKeyException e) {
+                        // another instance got there first
+                    }
+                }
+            }
+            return read();
+        });
+    }
+
+    private Snapshot read() {
+        Snapshot snapshot = new Snapshot(new String[ShardRouter.BUCKETS], new Instant[ShardRouter.BUCKETS]);
+        jdbc.query("select bucket, shard, moved_at from " + TABLE, row -> {
+            snapshot.shards()[row.getInt(1)] = row.getString(2);
+            Timestamp moved = row.getTimestamp(3);
+            snapshot.movedAt()[row.getInt(1)] = moved == null ? null : moved.toInstant();
+        });
+        return snapshot;
+    }
+
+    private <T> T onCatalog(Supplier<T> action) {
+        return router.on(router.shards().get(0), action);
+    }
+
+    private record Snapshot(String[] shards, Instant[] movedAt) {
+    }
+}
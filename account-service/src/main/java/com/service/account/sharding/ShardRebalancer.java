@@ -0,0 +1,191 @@
+package com.service.account.sharding;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Moves buckets between shards: copy the bucket's rows, then point the catalog at the
+ * new shard. The originals stay until {@link ShardCatalog#settled(int) every instance
+ * routes to the new shard}; a later {@link #sweep()} copies whatever was still written
+ * to the old shard and only then deletes the rows there. Every step can be repeated,
+ * so an interrupted move is finished by running it again.
+ * <p>
+ * Rows belong to the bucket of their client. Accounts created before sharding have
+ * ids that do not carry it, so the bucket is always taken from {@code client_id}.
+ */
+@Component
+public class ShardRebalancer {
+
+    private static final Logger log = LoggerFactory.getLogger(ShardRebalancer.class);
+
+    private static final String TABLE = "account";
+    private static final int BATCH = 500;
+
+    private final ShardRouter router;
+    private final ShardCatalog catalog;
+    private final JdbcTemplate jdbc;
+
+    public ShardRebalancer(ShardRouter router, ShardCatalog catalog, JdbcTemplate jdbc) {
+        this.router = router;
+        this.catalog = catalog;
+        this.jdbc = jdbc;
+    }
+
+    /**
+     * Buckets not on the shard the hash ring assigns them, with that shard.
+     */
+    public Map<Integer, String> pending() {
+        Map<Integer, String> pending = new TreeMap<>();
+        for (int bucket = 0; bucket < ShardRouter.BUCKETS; bucket++) {
+            if (!router.ownerOf(bucket).equals(router.targetOf(bucket))) {
+                pending.put(bucket, router.targetOf(bucket));
+            }
+        }
+        return pending;
+    }
+
+    /**
+     * @return accounts copied to their bucket's new shard
+     */
+    public synchronized long rebalance(int limit) {
+        catalog.load();
+        Map<String, Map<Integer, List<Long>>> rows = new HashMap<>();
+        long moved = 0;
+        int buckets = 0;
+        for (Map.Entry<Integer, String> move : pending().entrySet()) {
+            if (buckets++ == limit) {
+                break;
+            }
+            String source = router.ownerOf(move.getKey());
+            List<Long> ids = rows.computeIfAbsent(source, this::idsByBucket).getOrDefault(move.getKey(), List.of());
+            moved += move(move.getKey(), source, move.getValue(), ids);
+        }
+        return moved;
+    }
+
+    /**
+     * @return accounts copied to the bucket's new shard
+     */
+    public synchronized long move(int bucket, String shard) {
+        catalog.load();
+        String source = router.ownerOf(bucket);
+        if (source.equals(shard)) {
+            return 0;
+        }
+        return move(bucket, source, shard, idsByBucket(source).getOrDefault(bucket, List.of()));
+    }
+
+    /**
+     * @return accounts removed from shards that no longer own their bucket, after making
+     * sure the owner holds them
+     */
+    public synchronized long sweep() {
+        catalog.load();
+        long removed = 0;
+        for (String shard : router.shards()) {
+            for (Map.Entry<Integer, List<Long>> bucket : idsByBucket(shard).entrySet()) {
+                String owner = router.ownerOf(bucket.getKey());
+                if (!owner.equals(shard) && catalog.settled(bucket.getKey())) {
+                    copy(bucket.getValue(), shard, owner);
+                    removed += delete(bucket.getValue(), shard, owner);
+                }
+            }
+        }
+        return removed;
+    }
+
+    public long count(String shard) {
+        return router.on(shard, () -> jdbc.queryForObject("select count(*) from " + TABLE, Long.class));
+    }
+
+    private long move(int bucket, String source, String shard, List<Long> ids) {
+        long moved = copy(ids, source, shard);
+        catalog.assign(bucket, shard);
+        log.info("Moved bucket {} from {} to {} ({} accounts), the originals go with the next sweep",
+                bucket, source, shard, moved);
+        return moved;
+    }
+
+    private Map<Integer, List<Long>> idsByBucket(String shard) {
+        Map<Integer, List<Long>> ids = new HashMap<>();
+        router.on(shard, () -> {
+            jdbc.query("select id, client_id from " + TABLE, (RowCallbackHandler) row -> {
+                long clientId = row.getLong(2);
+                int bucket = row.wasNull() ? 0 : ShardRouter.bucketOf(clientId);
+                ids.computeIfAbsent(bucket, key -> new ArrayList<>()).add(row.getLong(1));
+            });
+            return null;
+        });
+        return ids;
+    }
+
+    private long copy(List<Long> ids, String from, String to) {
+        long copied = 0;
+        for (List<Long> batch : batches(ids)) {
+            List<Map<String, Object>> rows = router.on(from, () ->
+                    jdbc.queryForList("select * from " + TABLE + " where id in (" + placeholders(batch) + ")", batch.toArray()));
+            if (rows.isEmpty()) {
+                continue;
+            }
+            Set<Long> present = existing(batch, to);
+            List<String> columns = new ArrayList<>(rows.get(0).keySet());
+            List<Object[]> missing = rows.stream()
+                    .filter(row -> !present.contains(((Number) row.get("id")).longValue()))
+                    .map(row -> columns.stream().map(row::get).toArray())
+                    .toList();
+            if (missing.isEmpty()) {
+                continue;
+            }
+            String insert = "insert into " + TABLE + " (" + String.join(", ", columns) + ") values ("
+                    + String.join(", ", Collections.nCopies(columns.size(), "?")) + ")";
+            router.on(to, () -> jdbc.batchUpdate(insert, missing));
+            copied += missing.size();
+        }
+        return copied;
+    }
+
+    // Only rows the owner already holds are deleted, so nothing is lost if a copy failed.
+    private long delete(List<Long> ids, String from, String owner) {
+        long deleted = 0;
+        for (List<Long> batch : batches(ids)) {
+            List<Object[]> copied = existing(batch, owner).stream()
+                    .map(id -> new Object[]{id})
+                    .toList();
+            if (!copied.isEmpty()) {
+                router.on(from, () -> jdbc.batchUpdate("delete from " + TABLE + " where id = ?", copied));
+                deleted += copied.size();
+            }
+        }
+        return deleted;
+    }
+
+    private Set<Long> existing(List<Long> ids, String shard) {
+        return new HashSet<>(router.on(shard, () ->
+                jdbc.queryForList("select id from " + TABLE + " where id in (" + placeholders(ids) + ")",
+                        Long.class, ids.toArray())));
+    }
+
+    private static List<List<Long>> batches(List<Long> ids) {
+        List<List<Long>> batches = new ArrayList<>();
+        for (int from = 0; from < ids.size(); from += BATCH) {
+            batches.add(ids.subList(from, Math.min(from + BATCH, ids.size())));
+        }
+        return batches;
+    }
+
+    private static String placeholders(List<Long> ids) {
+        return String.join(", ", Collections.nCopies(ids.size(), "?"));
+    }
+}
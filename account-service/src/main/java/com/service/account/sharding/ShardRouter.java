@@ -0,0 +1,164 @@
+package com.service.account.sharding;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.function.Supplier;
+
+/**
+ * Maps clients to shards. A client hashes to one of {@link #BUCKETS} fixed buckets,
+ * and each bucket lives on one shard. Where a bucket should live is decided by a
+ * consistent-hash ring over the shard names, so adding a shard only claims about
+ * 1/N of the buckets; where it currently lives comes from the {@link ShardCatalog},
+ * and the two differ until {@link ShardRebalancer} has moved the bucket.
+ * <p>
+ * Account ids carry their bucket in the low bits, so an id is routed without
+ * knowing its client. Ids issued before sharding do not, and are looked up on
+ * every shard.
+ */
+public class ShardRouter {
+
+    public static final int BUCKETS = 1024;
+    static final int BUCKET_BITS = 10;
+    static final int SHARD_BITS = 6;
+    public static final int MAX_SHARDS = 1 << SHARD_BITS;
+    // Puts sharded ids above 2^36, out of reach of the ids issued before sharding.
+    static final long SEQUENCE_OFFSET = 1L << 20;
+    public static final long FIRST_SHARDED_ID = SEQUENCE_OFFSET << (SHARD_BITS + BUCKET_BITS);
+
+    private final List<String> shards;
+    private final NavigableMap<Long, Integer> ring = new TreeMap<>();
+    private volatile int[] owners;
+
+    public ShardRouter(List<String> shards, int virtualNodes) {
+        if (shards.isEmpty() || shards.size() > MAX_SHARDS) {
+            throw new IllegalArgumentException("Between 1 and " + MAX_SHARDS + " shards are supported, got " + shards.size());
+        }
+        this.shards = List.copyOf(shards);
+        for (int shard = 0; shard < shards.size(); shard++) {
+            for (int node = 0; node < virtualNodes; node++) {
+                ring.put(hash(shards.get(shard) + "#" + node), shard);
+            }
+        }
+        int[] targets = new int[BUCKETS];
+        for (int bucket = 0; bucket < BUCKETS; bucket++) {
+            targets[bucket] = target(bucket);
+        }
+        this.owners = targets;
+    }
+
+    public List<String> shards() {
+        return shards;
+    }
+
+    public static int bucketOf(long clientId) {
+        return (int) (mix(clientId) & (BUCKETS - 1));
+    }
+
+    public static int bucketOfAccount(long accountId) {
+        return (int) (accountId & (BUCKETS - 1));
+    }
+
+    public static boolean carriesBucket(long accountId) {
+        return accountId >= FIRST_SHARDED_ID;
+    }
+
+    /**
+     * {@code sequence | shard | bucket}. The shard that issued the id is part of it so
+     * ids stay unique when a bucket moves to a shard with its own sequence.
+     */
+    static long accountId(long sequence, int shard, int bucket) {
+        return ((SEQUENCE_OFFSET + sequence) << (SHARD_BITS + BUCKET_BITS)) | ((long) shard << BUCKET_BITS) | bucket;
+    }
+
+    public String ownerOf(int bucket) {
+        return shards.get(owners[bucket]);
+    }
+
+    public String targetOf(int bucket) {
+        return shards.get(target(bucket));
+    }
+
+    void assign(int bucket, String shard) {
+        int[] updated = owners.clone();
+        updated[bucket] = indexOf(shard);
+        owners = updated;
+    }
+
+    void assignAll(String[] assignment) {
+        int[] updated = new int[BUCKETS];
+        for (int bucket = 0; bucket < BUCKETS; bucket++) {
+            updated[bucket] = assignment[bucket] == null ? target(bucket) : indexOf(assignment[bucket]);
+        }
+        owners = updated;
+    }
+
+    public <T> T onClient(long clientId, Supplier<T> action) {
+        return on(owners[bucketOf(clientId)], action);
+    }
+
+    public <T> T onAccount(long accountId, Supplier<T> action) {
+        return on(owners[bucketOfAccount(accountId)], action);
+    }
+
+    public <T> Optional<T> findAccount(long accountId, Supplier<Optional<T>> lookup) {
+        if (carriesBucket(accountId)) {
+            return onAccount(accountId, lookup);
+        }
+        for (int shard = 0; shard < shards.size(); shard++) {
+            Optional<T> found = on(shard, lookup);
+            if (found.isPresent()) {
+                return found;
+            }
+        }
+        return Optional.empty();
+    }
+
+    public <T> T on(String shard, Supplier<T> action) {
+        return on(indexOf(shard), action);
+    }
+
+    private <T> T on(int shard, Supplier<T> action) {
+        Integer previous = ShardContext.get();
+        ShardContext.set(shard);
+        try {
+            return action.get();
+        } finally {
+            ShardContext.set(previous);
+        }
+    }
+
+    int indexOf(String shard) {
+        int index = shards.indexOf(shard);
+        if (index < 0) {
+            throw new IllegalArgumentException("Unknown shard " + shard + ", configured shards are " + shards);
+        }
+        return index;
+    }
+
+    private int target(int bucket) {
+        Map.Entry<Long, Integer> owner = ring.ceilingEntry(mix(bucket));
+        return owner == null ? ring.firstEntry().getValue() : owner.getValue();
+    }
+
+    private static long hash(String value) {
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+            hash = (hash ^ (b & 0xff)) * 0x100000001b3L;
+        }
+        return mix(hash);
+    }
+
+    // murmur3 finalizer, then kept positive so the ring is ordered like an unsigned circle
+    private static long mix(long value) {
+        value ^= value >>> 33;
+        value *= 0xff51afd7ed558ccdL;
+        value ^= value >>> 33;
+        value *= 0xc4ceb9fe1a85ec53L;
+        value ^= value >>> 33;
+        return value >>> 1;
+    }
+}
@@ -0,0 +1,51 @@
+package com.service.account.sharding;
+
+import org.hibernate.boot.Metadata;
+import org.hibernate.boot.spi.BootstrapContext;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.integrator.spi.Integrator;
+import org.hibernate.service.spi.SessionFactoryServiceRegistry;
+import org.hibernate.tool.schema.spi.SchemaManagementToolCoordinator;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+
+/**
+ * Hibernate applies {@code spring.jpa.hibernate.ddl-auto} to the first shard only;
+ * this repeats it on the other shards with the same mapping.
+ */
+public class ShardSchemaInitializer implements Integrator, SmartInitializingSingleton {
+
+    private final ShardRouter router;
+    private Metadata metadata;
+    private SessionFactoryImplementor sessionFactory;
+
+    public ShardSchemaInitializer(ShardRouter router) {
+        this.router = router;
+    }
+
+    @Override
+    public void integrate(Metadata metadata, BootstrapContext bootstrapContext, SessionFactoryImplementor sessionFactory) {
+        this.metadata = metadata;
+        this.sessionFactory = sessionFactory;
+    }
+
+    @Override
+    public void disintegrate(SessionFactoryImplementor sessionFactory, SessionFactoryServiceRegistry serviceRegistry) {
+        this.metadata = null;
+        this.sessionFactory = null;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        if (metadata == null) {
+            return;
+        }
+        for (String shard : router.shards().subList(1, router.shards().size())) {
+            router.on(shard, () -> {
+                // create-drop leaves the extra shards alone on shutdown
+                SchemaManagementToolCoordinator.process(metadata, sessionFactory.getServiceRegistry(),
+                        sessionFactory.getProperties(), action -> {});
+                return null;
+            });
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.service.account.sharding;
+
+import org.hibernate.annotations.IdGeneratorType;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Account id that encodes its bucket, see {@link ShardRouter#accountId(long, int, int)}.
+ */
+@IdGeneratorType(ShardedIdGenerator.class)
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.FIELD, ElementType.METHOD})
+public @interface ShardedId {
+
+    /**
+     * Sequence created on every shard; each shard numbers its own inserts.
+     */
+    String sequence();
+}
@@ -0,0 +1,35 @@
+package com.service.account.sharding;
+
+import com.service.account.model.Account;
+import org.hibernate.MappingException;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
+import org.hibernate.service.ServiceRegistry;
+import org.hibernate.type.Type;
+
+import java.util.Properties;
+
+public class ShardedIdGenerator extends SequenceStyleGenerator {
+
+    private final String sequence;
+
+    public ShardedIdGenerator(ShardedId config) {
+        this.sequence = config.sequence();
+    }
+
+    @Override
+    public void configure(Type type, Properties parameters, ServiceRegistry serviceRegistry) throws MappingException {
+        parameters.setProperty(SEQUENCE_PARAM, sequence);
+        // No pooling: values are drawn from the sequence of the shard being written to.
+        parameters.setProperty(INCREMENT_PARAM, "1");
+        super.configure(type, parameters, serviceRegistry);
+    }
+
+    @Override
+    public Object generate(SharedSessionContractImplementor session, Object object) {
+        long next = ((Number) super.generate(session, object)).longValue();
+        Long clientId = ((Account) object).getClientId();
+        int bucket = clientId == null ? 0 : ShardRouter.bucketOf(clientId);
+        return ShardRouter.accountId(next, ShardContext.current(), bucket);
+    }
+}
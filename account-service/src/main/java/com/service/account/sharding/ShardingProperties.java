@@ -0,0 +1,46 @@
+package com.service.account.sharding;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "sharding")
+public class ShardingProperties {
+
+    /**
+     * Account databases. Shards may be added at the end but never removed or
+     * reordered: a shard's position is part of the ids it has issued. Without any,
+     * spring.datasource is the single shard.
+     */
+    private List<Shard> shards = new ArrayList<>();
+
+    /**
+     * Points per shard on the hash ring; more points spread buckets more evenly.
+     */
+    private int virtualNodes = 64;
+
+    /**
+     * How often the bucket catalog is re-read, i.e. how long other instances keep
+     * routing a moved bucket to its old shard. The old shard keeps the bucket's rows
+     * for twice this long.
+     */
+    private Duration catalogRefresh = Duration.ofSeconds(30);
+
+    @Getter
+    @Setter
+    public static class Shard {
+        private String name;
+        private String url;
+        /**
+         * Defaults to spring.datasource.username, as does the password.
+         */
+        private String username;
+        private String password;
+    }
+}
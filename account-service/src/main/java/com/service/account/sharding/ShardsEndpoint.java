@@ -0,0 +1,71 @@
+package com.service.account.sharding;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * {@code GET /actuator/shards} shows the bucket layout; {@code POST /actuator/shards}
+ * moves one bucket ({@code {"bucket": 17, "shard": "shard1"}}) or, without a bucket,
+ * up to {@code limit} buckets to where the hash ring wants them. Each POST first
+ * sweeps up what earlier moves left on the old shards, so POST again once
+ * {@code sharding.catalog-refresh} has passed twice to finish a move.
+ */
+@Component
+@Endpoint(id = "shards")
+public class ShardsEndpoint {
+
+    private final ShardRouter router;
+    private final ShardRebalancer rebalancer;
+
+    public ShardsEndpoint(ShardRouter router, ShardRebalancer rebalancer) {
+        this.router = router;
+        this.rebalancer = rebalancer;
+    }
+
+    @ReadOperation
+    public Map<String, Object> layout() {
+        int[] buckets = new int[router.shards().size()];
+        for (int bucket = 0; bucket < ShardRouter.BUCKETS; bucket++) {
+            buckets[router.indexOf(router.ownerOf(bucket))]++;
+        }
+        List<Map<String, Object>> shards = new ArrayList<>();
+        for (int shard = 0; shard < buckets.length; shard++) {
+            String name = router.shards().get(shard);
+            Map<String, Object> layout = new LinkedHashMap<>();
+            layout.put("name", name);
+            layout.put("buckets", buckets[shard]);
+            layout.put("accounts", rebalancer.count(name));
+            shards.add(layout);
+        }
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("shards", shards);
+        result.put("pendingBuckets", rebalancer.pending().size());
+        return result;
+    }
+
+    @WriteOperation
+    public Map<String, Object> rebalance(@Nullable Integer bucket, @Nullable String shard, @Nullable Integer limit) {
+        long removed = rebalancer.sweep();
+        long moved;
+        if (bucket != null) {
+            if (bucket < 0 || bucket >= ShardRouter.BUCKETS) {
+                throw new IllegalArgumentException("Bucket must be between 0 and " + (ShardRouter.BUCKETS - 1));
+            }
+            moved = rebalancer.move(bucket, shard == null ? router.targetOf(bucket) : shard);
+        } else {
+            moved = rebalancer.rebalance(limit == null ? ShardRouter.BUCKETS : limit);
+        }
+        Map<String, Object> result = layout();
+        result.put("movedAccounts", moved);
+        result.put("removedAccounts", removed);
+        return result;
+    }
+}
@@ -0,0 +1,240 @@
+package com.service.account.stats;
+
+import com.service.account.DTO.AccountStatisticsDTO;
+import com.service.account.DTO.AccountTotalsDTO;
+import com.service.account.DTO.CohortTotalsDTO;
+import com.service.account.model.Account;
+import com.service.account.model.AccountType;
+import com.service.account.repository.AccountRepository;
+import com.service.account.sharding.ShardRouter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.DoubleAdder;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Account counts and balance sums per {@link AccountType} and per opening-month
+ * cohort, kept in striped counters so that writes never contend and reads never
+ * scan the account table.
+ * <p>
+ * Counters only see the writes of this instance. A scheduled reconciliation
+ * rebuilds them from a group-by over the account table of every shard, which picks up
+ * writes made by other replicas or outside the service and corrects any drift. Each
+ * bucket is counted on the shard that owns it only, so rows a move has copied but
+ * not yet swept are not counted twice.
+ * While it runs, local writes are also applied to the aggregates being rebuilt
+ * unless the group-by of their shard already saw them, so none are lost or
+ * counted twice by the swap.
+ */
+@Component
+public class AccountStatistics {
+
+    private static final Logger log = LoggerFactory.getLogger(AccountStatistics.class);
+
+    private final AccountRepository repository;
+    private final ShardRouter shards;
+    private final TransactionTemplate snapshotRead;
+    private volatile Aggregates current = new Aggregates(null);
+    private volatile Rebuild rebuild;
+
+    public AccountStatistics(AccountRepository repository, ShardRouter shards,
+                             PlatformTransactionManager transactionManager) {
+        this.repository = repository;
+        this.shards = shards;
+        // the group-by and the check of which new accounts it saw must read the same snapshot
+        this.snapshotRead = new TransactionTemplate(transactionManager);
+        this.snapshotRead.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+        this.snapshotRead.setReadOnly(true);
+    }
+
+    public void accountOpened(Account account) {
+        add(account, 1, account.getBalance() == null ? 0 : account.getBalance());
+    }
+
+    public void balanceChanged(Account account, double delta) {
+        add(account, 0, delta);
+    }
+
+    private void add(Account account, long accounts, double balance) {
+        // rebuild before current: reconcile() swaps current before clearing rebuild
+        Rebuild running = rebuild;
+        Aggregates aggregates = current;
+        aggregates.add(account.getType(), cohort(account), accounts, balance);
+        if (running != null && running.aggregates != aggregates) {
+            String shard = account.getClientId() == null
+                    ? shards.shards().get(0)
+                    : shards.ownerOf(ShardRouter.bucketOf(account.getClientId()));
+            running.progress.get(shard).record(new Increment(account, accounts, balance), running.aggregates);
+        }
+    }
+
+    public AccountStatisticsDTO snapshot() {
+        Aggregates aggregates = current;
+        Map<AccountType, AccountTotalsDTO> byType = new LinkedHashMap<>();
+        aggregates.byType.forEach((type, totals) -> byType.put(type, totals.toDTO()));
+        List<CohortTotalsDTO> cohorts = aggregates.byCohort.entrySet().stream()
+                .sorted(Map.Entry.comparingByKey(Cohort.ORDER))
+                .map(entry -> {
+                    AccountTotalsDTO totals = entry.getValue().toDTO();
+                    YearMonth month = entry.getKey().month();
+                    return new CohortTotalsDTO(month == null ? null : month.toString(), entry.getKey().type(),
+                            totals.getAccounts(), totals.getBalance());
+                })
+                .toList();
+        return new AccountStatisticsDTO(byType, cohorts, aggregates.reconciledAt);
+    }
+
+    @Scheduled(initialDelayString = "${account.stats.reconcile-initial-delay:PT0S}",
+            fixedDelayString = "${account.stats.reconcile-interval:PT5M}")
+    public void reconcile() {
+        Rebuild running = new Rebuild(new Aggregates(Instant.now()), new HashMap<>());
+        shards.shards().forEach(shard -> running.progress.put(shard, new ShardProgress()));
+        Aggregates rebuilt = running.aggregates;
+        rebuild = running;
+        try {
+            for (String shard : shards.shards()) {
+                ShardProgress progress = running.progress.get(shard);
+                List<AccountTotals> summary = shards.on(shard, () -> snapshotRead.execute(status -> {
+                    progress.start();
+                    List<AccountTotals> rows = repository.summarize();
+                    List<Increment> during = progress.finish();
+                    Set<Long> seen = during.isEmpty() ? Set.of()
+                            : new HashSet<>(repository.findExistingIds(during.stream().map(Increment::accountId).toList()));
+                    during.stream()
+                            .filter(increment -> !seen.contains(increment.accountId()))
+                            .forEach(increment -> increment.applyTo(rebuilt));
+                    return rows;
+                }));
+                for (AccountTotals totals : summary) {
+                    // a moved bucket's rows stay on the old shard until the rebalancer sweeps them
+                    if (!shards.ownerOf(bucketOf(totals)).equals(shard)) {
+                        continue;
+                    }
+                    YearMonth month = totals.getYear() == null ? null : YearMonth.of(totals.getYear(), totals.getMonth());
+                    rebuilt.add(totals.getType(), month, totals.getAccounts(),
+                            totals.getBalance() == null ? 0 : totals.getBalance());
+                }
+            }
+            current = rebuilt;
+        } catch (RuntimeException e) {
+            log.warn("Could not reconcile account statistics, keeping the current counters: {}", e.getMessage());
+        } finally {
+            rebuild = null;
+        }
+    }
+
+    private static int bucketOf(AccountTotals totals) {
+        if (totals.getBucket() != null) {
+            return totals.getBucket();
+        }
+        return totals.getClientId() == null ? 0 : ShardRouter.bucketOf(totals.getClientId());
+    }
+
+    private static YearMonth cohort(Account account) {
+        return account.getOpenedAt() == null ? null : YearMonth.from(account.getOpenedAt().atZone(ZoneOffset.UTC));
+    }
+
+    private static final class Aggregates {
+        private final Instant reconciledAt;
+        private final Map<AccountType, Totals> byType = new EnumMap<>(AccountType.class);
+        private final ConcurrentMap<Cohort, Totals> byCohort = new ConcurrentHashMap<>();
+
+        private Aggregates(Instant reconciledAt) {
+            this.reconciledAt = reconciledAt;
+            for (AccountType type : AccountType.values()) {
+                byType.put(type, new Totals());
+            }
+        }
+
+        private void add(AccountType type, YearMonth month, long accounts, double balance) {
+            if (type == null) {
+                return;
+            }
+            byType.get(type).add(accounts, balance);
+            byCohort.computeIfAbsent(new Cohort(type, month), cohort -> new Totals()).add(accounts, balance);
+        }
+    }
+
+    private record Rebuild(Aggregates aggregates, Map<String, ShardProgress> progress) {
+    }
+
+    /**
+     * Where the rebuild stands on one shard. Counters are updated after the write has
+     * committed, so a write recorded before the group-by started is in its result and
+     * one recorded after it finished is not. Writes recorded while it runs are held
+     * back until the same snapshot shows which of them it saw.
+     */
+    private static final class ShardProgress {
+        private enum State { PENDING, RUNNING, DONE }
+
+        private State state = State.PENDING;
+        private final List<Increment> during = new ArrayList<>();
+
+        private synchronized void record(Increment increment, Aggregates rebuilt) {
+            if (state == State.RUNNING) {
+                during.add(increment);
+            } else if (state == State.DONE) {
+                increment.applyTo(rebuilt);
+            }
+        }
+
+        private synchronized void start() {
+            state = State.RUNNING;
+        }
+
+        private synchronized List<Increment> finish() {
+            state = State.DONE;
+            return List.copyOf(during);
+        }
+    }
+
+    private record Increment(Account account, long accounts, double balance) {
+        private Long accountId() {
+            return account.getId();
+        }
+
+        private void applyTo(Aggregates aggregates) {
+            aggregates.add(account.getType(), cohort(account), accounts, balance);
+        }
+    }
+
+    private static final class Totals {
+        private final LongAdder accounts = new LongAdder();
+        private final DoubleAdder balance = new DoubleAdder();
+
+        private void add(long accounts, double balance) {
+            this.accounts.add(accounts);
+            this.balance.add(balance);
+        }
+
+        private AccountTotalsDTO toDTO() {
+            return new AccountTotalsDTO(accounts.sum(), balance.sum());
+        }
+    }
+
+    private record Cohort(AccountType type, YearMonth month) {
+        private static final Comparator<Cohort> ORDER = Comparator
+                .comparing(Cohort::month, Comparator.nullsFirst(Comparator.naturalOrder()))
+                .thenComparing(Cohort::type);
+    }
+}
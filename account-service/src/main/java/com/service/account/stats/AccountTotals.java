@@ -0,0 +1,32 @@
+package com.service.account.stats;
+
+import com.service.account.model.AccountType;
+
+/**
+ * One row of {@link com.service.account.repository.AccountRepository#summarize()}:
+ * account count and balance sum of one type for the month the accounts were opened,
+ * within one bucket. Accounts created before sharding have ids that do not carry
+ * their bucket; they are summed per client instead.
+ */
+public interface AccountTotals {
+
+    AccountType getType();
+
+    /**
+     * Null for accounts opened before opening dates were recorded, as is {@link #getMonth()}.
+     */
+    Integer getYear();
+
+    Integer getMonth();
+
+    /**
+     * Null for accounts created before sharding, which have {@link #getClientId()} instead.
+     */
+    Integer getBucket();
+
+    Long getClientId();
+
+    Long getAccounts();
+
+    Double getBalance();
+}
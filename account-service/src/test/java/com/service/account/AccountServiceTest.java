@@ -3,20 +3,25 @@ package com.service.account;
 
 import com.service.account.DTO.AccountDTO;
 import com.service.account.DTO.CreateAccountDTO;
+import com.service.account.audit.AuditAction;
+import com.service.account.audit.AuditLogger;
+import com.service.account.audit.AuditSlot;
+import com.service.account.client.CustomerLookupClient;
+import com.service.account.exception.AuditBufferFullException;
 import com.service.account.exception.CustomerNotFoundException;
 import com.service.account.mapper.AccountMapper;
 import com.service.account.model.Account;
 import com.service.account.model.AccountType;
 import com.service.account.repository.AccountRepository;
 import com.service.account.service.impl.AccountServiceImpl;
+import com.service.account.sharding.ShardRouter;
+import com.service.account.stats.AccountStatistics;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
-import org.springframework.http.HttpStatus;
-import org.springframework.http.ResponseEntity;
-import org.springframework.web.client.RestTemplate;
+import org.mockito.Spy;
 
 import java.util.List;
 import java.util.Optional;
@@ -30,11 +35,23 @@ class AccountServiceTest {
     private AccountRepository repository;
 
     @Mock
-    private RestTemplate restTemplate;
+    private CustomerLookupClient customerLookupClient;
 
     @Mock
     private AccountMapper mapper;
 
+    @Mock
+    private AuditLogger auditLogger;
+
+    @Mock
+    private AuditSlot auditSlot;
+
+    @Mock
+    private AccountStatistics statistics;
+
+    @Spy
+    private ShardRouter shards = new ShardRouter(List.of("shard0"), 64);
+
     @InjectMocks
     private AccountServiceImpl accountService;
 
@@ -47,11 +64,11 @@ class AccountServiceTest {
     void testCreateAccount_Success() {
         // Arrange
         CreateAccountDTO createAccountDTO = new CreateAccountDTO(1.0, AccountType.COURANT, 1000L);
-        Account account = new Account(1L, 1000.0, AccountType.COURANT, 1L);
+        Account account = new Account(1L, 1000.0, AccountType.COURANT, 1L, null);
         AccountDTO accountDTO = new AccountDTO(1L, 1000.0, AccountType.COURANT, 1L);
 
-        when(restTemplate.getForEntity(anyString(), eq(Object.class)))
-                .thenReturn(new ResponseEntity<>(HttpStatus.OK));
+        when(customerLookupClient.exists(anyLong())).thenReturn(true);
+        when(auditLogger.reserve()).thenReturn(auditSlot);
 
         when(repository.existsByClientIdAndType(1L, AccountType.COURANT)).thenReturn(false);
         when(mapper.fromCreateDTO(createAccountDTO)).thenReturn(account);
@@ -65,6 +82,37 @@ class AccountServiceTest {
         assertNotNull(result);
         assertEquals(1L, result.getClientId());
         assertEquals(AccountType.COURANT, result.getType());
+        verify(auditSlot).publish(AuditAction.CREATE, "Account", 1L, null, accountDTO);
+        verify(auditSlot).close();
+        verify(statistics).accountOpened(account);
+    }
+
+    @Test
+    void testCreateAccount_AuditBufferFull() {
+        // Arrange
+        CreateAccountDTO createAccountDTO = new CreateAccountDTO(1.0, AccountType.COURANT, 1000L);
+
+        when(customerLookupClient.exists(anyLong())).thenReturn(true);
+        when(auditLogger.reserve()).thenThrow(new AuditBufferFullException());
+
+        // Act & Assert
+        assertThrows(AuditBufferFullException.class, () -> accountService.createAccount(createAccountDTO));
+        verify(repository, never()).save(any());
+    }
+
+    @Test
+    void testCreateAccount_ReleasesAuditSlotWhenAccountExists() {
+        // Arrange
+        CreateAccountDTO createAccountDTO = new CreateAccountDTO(1.0, AccountType.COURANT, 1000L);
+
+        when(customerLookupClient.exists(anyLong())).thenReturn(true);
+        when(auditLogger.reserve()).thenReturn(auditSlot);
+        when(repository.existsByClientIdAndType(1000L, AccountType.COURANT)).thenReturn(true);
+
+        // Act & Assert
+        assertThrows(RuntimeException.class, () -> accountService.createAccount(createAccountDTO));
+        verify(auditSlot, never()).publish(any(), any(), any(), any(), any());
+        verify(auditSlot).close();
     }
 
     @Test
@@ -72,8 +120,7 @@ class AccountServiceTest {
         // Arrange
         CreateAccountDTO createAccountDTO = new CreateAccountDTO(200.0, AccountType.EPARGNE, 5L);
 
-        when(restTemplate.getForEntity(anyString(), eq(Object.class)))
-                .thenReturn(new ResponseEntity<>(HttpStatus.NOT_FOUND));
+        when(customerLookupClient.exists(anyLong())).thenReturn(false);
 
         // Act & Assert
         assertThrows(CustomerNotFoundException.class, () -> accountService.createAccount(createAccountDTO));
@@ -82,7 +129,7 @@ class AccountServiceTest {
     @Test
     void testGetAccountById_Success() {
         // Arrange
-        Account account = new Account(1L, 3000.0, AccountType.EPARGNE, 1L);
+        Account account = new Account(1L, 3000.0, AccountType.EPARGNE, 1L, null);
         AccountDTO accountDTO = new AccountDTO(1L, 3000.0, AccountType.EPARGNE, 1L);
 
         when(repository.findById(1L)).thenReturn(Optional.of(account));
@@ -110,8 +157,8 @@ class AccountServiceTest {
     @Test
     void testGetAccountsByCustomerId() {
         // Arrange
-        Account account1 = new Account(1L, 4000.0, AccountType.COURANT, 5L);
-        Account account2 = new Account(2L, 2500.0, AccountType.EPARGNE, 5L);
+        Account account1 = new Account(1L, 4000.0, AccountType.COURANT, 5L, null);
+        Account account2 = new Account(2L, 2500.0, AccountType.EPARGNE, 5L, null);
 
         AccountDTO dto1 = new AccountDTO(1L, 4000.0, AccountType.COURANT, 5L);
         AccountDTO dto2 = new AccountDTO(2L, 2500.0, AccountType.EPARGNE, 5L);
@@ -0,0 +1,116 @@
+package com.service.account;
+
+import com.service.account.DTO.AccountStatisticsDTO;
+import com.service.account.DTO.CohortTotalsDTO;
+import com.service.account.model.Account;
+import com.service.account.model.AccountType;
+import com.service.account.repository.AccountRepository;
+import com.service.account.sharding.ShardRouter;
+import com.service.account.stats.AccountStatistics;
+import com.service.account.stats.AccountTotals;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class AccountStatisticsTest {
+
+    private final AccountRepository repository = mock(AccountRepository.class);
+    private final AccountStatistics statistics = new AccountStatistics(repository, new ShardRouter(List.of("shard0"), 64),
+            mock(PlatformTransactionManager.class));
+
+    @Test
+    void testCounters_TrackOpenedAccountsAndBalanceChanges() {
+        Account courant = new Account(1L, 1000.0, AccountType.COURANT, 1L, Instant.parse("2025-03-14T10:00:00Z"));
+        Account epargne = new Account(2L, 500.0, AccountType.EPARGNE, 1L, Instant.parse("2025-03-31T23:59:59Z"));
+
+        statistics.accountOpened(courant);
+        statistics.accountOpened(epargne);
+        statistics.balanceChanged(courant, -250.0);
+
+        AccountStatisticsDTO result = statistics.snapshot();
+        assertEquals(1, result.getByType().get(AccountType.COURANT).getAccounts());
+        assertEquals(750.0, result.getByType().get(AccountType.COURANT).getBalance());
+        assertEquals(500.0, result.getByType().get(AccountType.EPARGNE).getBalance());
+        assertEquals(2, result.getCohorts().size());
+        assertEquals("2025-03", result.getCohorts().get(0).getCohort());
+        assertNull(result.getReconciledAt());
+    }
+
+    @Test
+    void testReconcile_ReplacesCountersWithTableTotals() {
+        statistics.accountOpened(new Account(1L, 1000.0, AccountType.COURANT, 1L, Instant.now()));
+        List<AccountTotals> rows = List.of(
+                totals(AccountType.COURANT, 2024, 11, 3, 4200.0),
+                totals(AccountType.COURANT, null, null, 2, 100.0),
+                totals(AccountType.EPARGNE, 2025, 1, 1, 50.0));
+        when(repository.summarize()).thenReturn(rows);
+
+        statistics.reconcile();
+
+        AccountStatisticsDTO result = statistics.snapshot();
+        assertEquals(5, result.getByType().get(AccountType.COURANT).getAccounts());
+        assertEquals(4300.0, result.getByType().get(AccountType.COURANT).getBalance());
+        assertEquals(1, result.getByType().get(AccountType.EPARGNE).getAccounts());
+        assertEquals(List.of("null", "2024-11", "2025-01"),
+                result.getCohorts().stream().map(CohortTotalsDTO::getCohort).map(String::valueOf).toList());
+        assertNotNull(result.getReconciledAt());
+    }
+
+    @Test
+    void testReconcile_KeepsWritesMadeWhileQuerying() {
+        when(repository.summarize()).thenAnswer(invocation -> {
+            // committed after the group-by read the table
+            statistics.accountOpened(new Account(2L, 300.0, AccountType.EPARGNE, 7L, Instant.now()));
+            return List.of(totals(AccountType.EPARGNE, 2024, 11, 2, 1000.0));
+        });
+
+        statistics.reconcile();
+        statistics.balanceChanged(new Account(2L, 300.0, AccountType.EPARGNE, 7L, Instant.now()), 50.0);
+
+        AccountStatisticsDTO result = statistics.snapshot();
+        assertEquals(3, result.getByType().get(AccountType.EPARGNE).getAccounts());
+        assertEquals(1350.0, result.getByType().get(AccountType.EPARGNE).getBalance());
+    }
+
+    @Test
+    void testReconcile_CountsWriteSeenByQueryOnce() {
+        Account account = new Account(3L, 300.0, AccountType.COURANT, 7L, Instant.now());
+        when(repository.summarize()).thenAnswer(invocation -> {
+            // committed before the group-by read the table, counter updated while it ran
+            statistics.accountOpened(account);
+            return List.of(totals(AccountType.COURANT, 2024, 11, 3, 1300.0));
+        });
+        when(repository.findExistingIds(List.of(3L))).thenReturn(List.of(3L));
+
+        statistics.reconcile();
+
+        AccountStatisticsDTO result = statistics.snapshot();
+        assertEquals(3, result.getByType().get(AccountType.COURANT).getAccounts());
+        assertEquals(1300.0, result.getByType().get(AccountType.COURANT).getBalance());
+    }
+
+    @Test
+    void testReconcile_KeepsCountersWhenQueryFails() {
+        statistics.accountOpened(new Account(1L, 1000.0, AccountType.EPARGNE, 1L, Instant.now()));
+        when(repository.summarize()).thenThrow(new IllegalStateException("database unavailable"));
+
+        statistics.reconcile();
+
+        assertEquals(1, statistics.snapshot().getByType().get(AccountType.EPARGNE).getAccounts());
+    }
+
+    private static AccountTotals totals(AccountType type, Integer year, Integer month, long accounts, double balance) {
+        AccountTotals totals = mock(AccountTotals.class);
+        when(totals.getType()).thenReturn(type);
+        when(totals.getYear()).thenReturn(year);
+        when(totals.getMonth()).thenReturn(month);
+        when(totals.getAccounts()).thenReturn(accounts);
+        when(totals.getBalance()).thenReturn(balance);
+        return totals;
+    }
+}
@@ -0,0 +1,158 @@
+package com.service.account;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.lmax.disruptor.RingBuffer;
+import com.lmax.disruptor.Sequence;
+import com.service.account.audit.AuditAction;
+import com.service.account.audit.AuditEvent;
+import com.service.account.audit.AuditFileWriter;
+import com.service.account.audit.AuditLogger;
+import com.service.account.audit.AuditProperties;
+import com.service.account.audit.AuditSlot;
+import com.service.account.audit.OverflowPolicy;
+import com.service.account.exception.AuditBufferFullException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AuditLoggerTest {
+
+    @TempDir
+    Path directory;
+
+    private AuditProperties properties;
+    private RingBuffer<AuditEvent> ringBuffer;
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        properties = new AuditProperties();
+        properties.setDirectory(directory);
+        properties.setFsync(false);
+        ringBuffer = RingBuffer.createMultiProducer(AuditEvent::new, 4);
+        // A consumer that never advances, so the buffer fills up after four events.
+        ringBuffer.addGatingSequences(new Sequence());
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    void testRecord_RejectsWhenBufferIsFull() {
+        properties.setOverflowPolicy(OverflowPolicy.REJECT);
+        AuditLogger auditLogger = new AuditLogger(ringBuffer, properties, meterRegistry);
+
+        for (int i = 0; i < 4; i++) {
+            auditLogger.record(AuditAction.CREATE, "Account", i, null, null);
+        }
+
+        assertThrows(AuditBufferFullException.class,
+                () -> auditLogger.record(AuditAction.CREATE, "Account", 4, null, null));
+        assertEquals(1.0, meterRegistry.counter("audit.events.rejected").count());
+    }
+
+    @Test
+    void testRecord_DropsWhenBufferIsFull() {
+        properties.setOverflowPolicy(OverflowPolicy.DROP);
+        AuditLogger auditLogger = new AuditLogger(ringBuffer, properties, meterRegistry);
+
+        for (int i = 0; i < 6; i++) {
+            auditLogger.record(AuditAction.CREATE, "Account", i, null, null);
+        }
+
+        assertEquals(3, ringBuffer.getCursor());
+        assertEquals(2.0, meterRegistry.counter("audit.events.dropped").count());
+    }
+
+    @Test
+    void testWriter_AppendsChecksummedJsonLines() throws Exception {
+        AuditLogger auditLogger = new AuditLogger(ringBuffer, properties, meterRegistry);
+        AuditFileWriter writer = new AuditFileWriter(properties, new ObjectMapper(), meterRegistry);
+
+        auditLogger.record(AuditAction.CREATE, "Account", 7L, null, Map.of("balance", 100.0));
+        auditLogger.record(AuditAction.BALANCE_CHANGE, "Account", 7L, Map.of("balance", 100.0), Map.of("balance", 50.0));
+        writer.onEvent(ringBuffer.get(0), 0, false);
+        writer.onEvent(ringBuffer.get(1), 1, true);
+        writer.onShutdown();
+
+        List<String> lines = readLines(directory);
+        assertEquals(2, lines.size());
+        for (String line : lines) {
+            String[] parts = line.split("\t");
+            CRC32C crc = new CRC32C();
+            crc.update(parts[0].getBytes(StandardCharsets.UTF_8));
+            assertEquals(String.format("%08x", crc.getValue()), parts[1]);
+        }
+        JsonNode second = new ObjectMapper().readTree(lines.get(1).split("\t")[0]);
+        JsonNode first = new ObjectMapper().readTree(lines.get(0).split("\t")[0]);
+        assertFalse(second.get("run").asText().isEmpty());
+        assertEquals(first.get("run"), second.get("run"));
+        assertEquals(1, second.get("seq").asLong());
+        assertEquals("BALANCE_CHANGE", second.get("action").asText());
+        assertEquals("system", second.get("actor").asText());
+        assertEquals(50.0, second.get("after").get("balance").asDouble());
+        assertNull(ringBuffer.get(1).getAction());
+    }
+
+    @Test
+    void testReserve_ClaimsNoSlotUntilPublished() {
+        properties.setOverflowPolicy(OverflowPolicy.REJECT);
+        AuditLogger auditLogger = new AuditLogger(ringBuffer, properties, meterRegistry);
+
+        AuditSlot pending = auditLogger.reserve();
+        for (int i = 0; i < 3; i++) {
+            auditLogger.record(AuditAction.CREATE, "Account", i, null, null);
+        }
+        assertEquals(2, ringBuffer.getCursor());
+        assertThrows(AuditBufferFullException.class, auditLogger::reserve);
+
+        pending.close();
+        assertEquals(1, auditLogger.remainingCapacity());
+        auditLogger.record(AuditAction.CREATE, "Account", 3, null, null);
+        assertEquals(3, ringBuffer.getCursor());
+        assertEquals(0, auditLogger.remainingCapacity());
+    }
+
+    @Test
+    void testWriter_RetriesBatchOnNewFileAfterFailure() throws Exception {
+        // A regular file where the directory should be makes every open fail until it is removed.
+        Path blocked = Files.createFile(directory.resolve("blocked"));
+        properties.setDirectory(blocked);
+        AuditLogger auditLogger = new AuditLogger(ringBuffer, properties, meterRegistry);
+        AuditFileWriter writer = new AuditFileWriter(properties, new ObjectMapper(), meterRegistry);
+        auditLogger.record(AuditAction.CREATE, "Account", 9L, null, null);
+
+        Thread repair = new Thread(() -> {
+            try {
+                Thread.sleep(300);
+                Files.delete(blocked);
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        repair.start();
+        writer.onEvent(ringBuffer.get(0), 0, true);
+        writer.onShutdown();
+        repair.join();
+
+        assertTrue(meterRegistry.counter("audit.write.failures").count() >= 1);
+        assertEquals(0.0, meterRegistry.counter("audit.events.lost").count());
+        assertEquals(1, readLines(blocked).size());
+    }
+
+    private static List<String> readLines(Path directory) throws Exception {
+        try (Stream<Path> files = Files.list(directory)) {
+            return Files.readAllLines(files.findFirst().orElseThrow());
+        }
+    }
+}
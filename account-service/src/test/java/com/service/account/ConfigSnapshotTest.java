@@ -0,0 +1,101 @@
+package com.service.account;
+
+import com.service.account.config.ConfigSnapshotEnvironmentPostProcessor;
+import com.service.account.config.ConfigSnapshotWriter;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.context.event.ApplicationEnvironmentPreparedEvent;
+import org.springframework.context.ApplicationEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.core.env.ConfigurableEnvironment;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.core.env.StandardEnvironment;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConfigSnapshotTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void testSnapshot_UsedOnlyWhenConfigServerIsUnreachable() {
+        Path snapshot = directory.resolve("account-service.properties");
+        StandardEnvironment online = environment(snapshot);
+        online.getPropertySources().addBefore("Config resource 'application.yml'",
+                new MapPropertySource("configserver:account-service.yml", Map.of("server.port", 8082)));
+        online.getPropertySources().addBefore("Config resource 'application.yml'",
+                new MapPropertySource("configserver:application.yml", Map.of("server.port", 9999, "spring.jpa.show-sql", true)));
+        new ConfigSnapshotWriter(online).write();
+        assertTrue(Files.exists(snapshot));
+
+        StandardEnvironment offline = environment(snapshot);
+        postProcessor().postProcessEnvironment(offline, new SpringApplication());
+
+        assertEquals("8082", offline.getProperty("server.port"));
+        assertEquals("true", offline.getProperty("spring.jpa.show-sql"));
+        assertEquals("account-service", offline.getProperty("spring.application.name"));
+        List<String> order = offline.getPropertySources().stream().map(source -> source.getName()).toList();
+        assertTrue(order.indexOf("configSnapshot") < order.indexOf("Config resource 'application.yml'"));
+
+        postProcessor().postProcessEnvironment(online, new SpringApplication());
+        assertFalse(online.getPropertySources().contains("configSnapshot"));
+    }
+
+    @Test
+    void testWriter_SkipsWhenNothingCameFromConfigServer() {
+        Path snapshot = directory.resolve("account-service.properties");
+
+        new ConfigSnapshotWriter(environment(snapshot)).write();
+
+        assertFalse(Files.exists(snapshot));
+    }
+
+    @Test
+    void testStartup_LoadsSnapshotWhenConfigServerIsDown() throws Exception {
+        Path snapshot = directory.resolve("account-service.properties");
+        Files.writeString(snapshot, "server.port=8082\nsharding.catalog-refresh=PT30S\n");
+        SpringApplication application = new SpringApplication(AccountApplication.class);
+        AtomicReference<ConfigurableEnvironment> prepared = new AtomicReference<>();
+        // Stop once the environment is ready; the post-processors have run by then.
+        application.addListeners((ApplicationListener<ApplicationEvent>) event -> {
+            if (event instanceof ApplicationEnvironmentPreparedEvent environmentPrepared) {
+                prepared.set(environmentPrepared.getEnvironment());
+                throw new EnvironmentPrepared();
+            }
+        });
+
+        assertThrows(EnvironmentPrepared.class, () -> application.run(
+                "--spring.cloud.config.enabled=true",
+                "--spring.config.import=optional:configserver:http://localhost:1",
+                "--config.snapshot.path=" + snapshot));
+
+        ConfigurableEnvironment environment = prepared.get();
+        assertTrue(environment.getPropertySources().contains("configSnapshot"));
+        assertEquals("8082", environment.getProperty("server.port"));
+        assertEquals("PT30S", environment.getProperty("sharding.catalog-refresh"));
+        assertEquals("account-service", environment.getProperty("spring.application.name"));
+    }
+
+    private static StandardEnvironment environment(Path snapshot) {
+        StandardEnvironment environment = new StandardEnvironment();
+        environment.getPropertySources().addLast(new MapPropertySource("Config resource 'application.yml'",
+                Map.of("spring.application.name", "account-service", "server.port", 8080,
+                        "config.snapshot.path", snapshot.toString())));
+        return environment;
+    }
+
+    private static ConfigSnapshotEnvironmentPostProcessor postProcessor() {
+        return new ConfigSnapshotEnvironmentPostProcessor(destination -> destination.get());
+    }
+
+    private static final class EnvironmentPrepared extends RuntimeException {
+    }
+}
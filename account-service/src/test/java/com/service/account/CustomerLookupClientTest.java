@@ -0,0 +1,82 @@
+package com.service.account;
+
+import com.service.account.client.CustomerLookupClient;
+import com.service.customer.grpc.CustomerExistence;
+import com.service.customer.grpc.CustomerIds;
+import com.service.customer.grpc.CustomerLookupGrpc;
+import io.grpc.ManagedChannel;
+import io.grpc.Server;
+import io.grpc.Status;
+import io.grpc.StatusRuntimeException;
+import io.grpc.inprocess.InProcessChannelBuilder;
+import io.grpc.inprocess.InProcessServerBuilder;
+import io.grpc.stub.StreamObserver;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CustomerLookupClientTest {
+
+    private static final Set<Long> KNOWN = Set.of(1L, 2L);
+
+    private Server server;
+    private ManagedChannel channel;
+    private CustomerLookupClient client;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        String name = InProcessServerBuilder.generateName();
+        server = InProcessServerBuilder.forName(name)
+                .directExecutor()
+                .addService(new CustomerLookupGrpc.CustomerLookupImplBase() {
+                    @Override
+                    public void exists(CustomerIds request, StreamObserver<CustomerExistence> responseObserver) {
+                        if (request.getIdsList().contains(-1L)) {
+                            responseObserver.onError(Status.UNAVAILABLE.asRuntimeException());
+                            return;
+                        }
+                        for (long id : request.getIdsList()) {
+                            responseObserver.onNext(CustomerExistence.newBuilder()
+                                    .setId(id)
+                                    .setExists(KNOWN.contains(id))
+                                    .build());
+                        }
+                        responseObserver.onCompleted();
+                    }
+                })
+                .build()
+                .start();
+        channel = InProcessChannelBuilder.forName(name).directExecutor().build();
+        client = new CustomerLookupClient();
+        ReflectionTestUtils.setField(client, "stub", CustomerLookupGrpc.newBlockingStub(channel));
+    }
+
+    @AfterEach
+    void tearDown() {
+        channel.shutdownNow();
+        server.shutdownNow();
+    }
+
+    @Test
+    void testExists_KnownAndUnknownCustomer() {
+        assertTrue(client.exists(1L));
+        assertFalse(client.exists(3L));
+    }
+
+    @Test
+    void testFindExisting_ReturnsOnlyKnownIds() {
+        assertEquals(Set.of(1L, 2L), client.findExisting(List.of(1L, 2L, 3L, 4L)));
+    }
+
+    @Test
+    void testExists_PropagatesServerFailure() {
+        StatusRuntimeException error = assertThrows(StatusRuntimeException.class, () -> client.exists(-1L));
+        assertEquals(Status.Code.UNAVAILABLE, error.getStatus().getCode());
+    }
+}
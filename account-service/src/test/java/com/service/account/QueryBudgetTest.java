@@ -0,0 +1,141 @@
+package com.service.account;
+
+import com.service.account.DTO.CreateAccountDTO;
+import com.service.account.client.CustomerLookupClient;
+import com.service.account.model.Account;
+import com.service.account.model.AccountType;
+import com.service.account.repository.AccountRepository;
+import com.service.account.service.AccountService;
+import com.service.account.sharding.ShardRouter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.when;
+
+/**
+ * Statement budgets for the request paths, against 20,000 accounts of 10,000 clients spread
+ * over two shards. Lookups by client or by sharded id must reach the owning shard only; a
+ * budget that no longer holds usually means an N+1, a lost index or a lookup fanning out.
+ */
+@SpringBootTest(properties = {
+        "eureka.client.enabled=false",
+        "spring.cloud.config.enabled=false",
+        "sharding.shards[0].name=shard0",
+        "sharding.shards[0].url=jdbc:h2:mem:querybudget-shard0",
+        "sharding.shards[1].name=shard1",
+        "sharding.shards[1].url=jdbc:h2:mem:querybudget-shard1",
+        "spring.jpa.properties.hibernate.jdbc.batch_size=500",
+        "account.stats.reconcile-initial-delay=PT1H"
+})
+@Import(SqlRecorder.class)
+class QueryBudgetTest {
+
+    private static final long CLIENTS = 10_000;
+    private static final long LEGACY_ID = 4242;
+
+    private static final Map<Long, Long> accountIdByClient = new HashMap<>();
+
+    @Autowired
+    private AccountService service;
+
+    @Autowired
+    private AccountRepository repository;
+
+    @Autowired
+    private ShardRouter router;
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private SqlRecorder sqlRecorder;
+
+    @MockitoBean
+    private CustomerLookupClient customerLookupClient;
+
+    @BeforeEach
+    void seed() {
+        if (!accountIdByClient.isEmpty()) {
+            return;
+        }
+        Map<String, List<Account>> byShard = new HashMap<>();
+        for (long client = 1; client <= CLIENTS; client++) {
+            for (AccountType type : AccountType.values()) {
+                byShard.computeIfAbsent(router.ownerOf(ShardRouter.bucketOf(client)), shard -> new ArrayList<>())
+                        .add(new Account(null, 100.0, type, client, null));
+            }
+        }
+        byShard.forEach((shard, accounts) -> router.on(shard,
+                () -> transactionTemplate.execute(status -> repository.saveAll(accounts))));
+        byShard.values().forEach(accounts -> accounts.forEach(account ->
+                accountIdByClient.putIfAbsent(account.getClientId(), account.getId())));
+        // issued before sharding, so it only exists on one shard and its id does not say which
+        router.on(router.shards().get(router.shards().size() - 1), () -> jdbc.update(
+                "insert into account (id, balance, type, client_id, opened_at) values (?, 100, 'COURANT', ?, current_timestamp)",
+                LEGACY_ID, CLIENTS + 1));
+    }
+
+    @Test
+    void testGetAccountsByCustomerId_OneIndexedQueryOnOwningShard() {
+        List<SqlRecorder.RecordedStatement> statements = sqlRecorder.assertWithinBudget("getAccountsByCustomerId", 1,
+                () -> assertEquals(AccountType.values().length, service.getAccountsByCustomerId(4242L).size()));
+
+        assertRanOn(router.ownerOf(ShardRouter.bucketOf(4242L)), statements);
+    }
+
+    @Test
+    void testGetAccountById_OneQueryOnOwningShard() {
+        long id = accountIdByClient.get(4242L);
+        assertTrue(ShardRouter.carriesBucket(id));
+
+        List<SqlRecorder.RecordedStatement> statements = sqlRecorder.assertWithinBudget("getAccountById", 1,
+                () -> assertEquals(4242L, service.getAccountById(id).getClientId()));
+
+        assertRanOn(router.ownerOf(ShardRouter.bucketOfAccount(id)), statements);
+    }
+
+    // Ids without a bucket are looked for shard by shard, so they cost one query per shard at most.
+    @Test
+    void testGetAccountById_LegacyIdAtMostOneQueryPerShard() {
+        sqlRecorder.assertWithinBudget("getAccountById (before sharding)", router.shards().size(),
+                () -> assertEquals(CLIENTS + 1, service.getAccountById(LEGACY_ID).getClientId()));
+    }
+
+    @Test
+    void testCreateAccount_CheckSequenceAndInsertOnOwningShard() {
+        when(customerLookupClient.exists(anyLong())).thenReturn(true);
+        long client = CLIENTS + 2;
+
+        List<SqlRecorder.RecordedStatement> statements = sqlRecorder.assertWithinBudget("createAccount", 3,
+                () -> service.createAccount(new CreateAccountDTO(50.0, AccountType.COURANT, client)));
+
+        assertRanOn(router.ownerOf(ShardRouter.bucketOf(client)), statements);
+    }
+
+    @Test
+    void testGetStatistics_NoQueries() {
+        sqlRecorder.assertWithinBudget("getStatistics", 0, service::getStatistics);
+    }
+
+    private static void assertRanOn(String shard, List<SqlRecorder.RecordedStatement> statements) {
+        for (SqlRecorder.RecordedStatement statement : statements) {
+            assertEquals("jdbc:h2:mem:querybudget-" + shard, statement.url(), statement.sql());
+        }
+    }
+}
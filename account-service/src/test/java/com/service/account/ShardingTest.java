@@ -0,0 +1,173 @@
+package com.service.account;
+
+import com.service.account.DTO.AccountDTO;
+import com.service.account.DTO.AccountStatisticsDTO;
+import com.service.account.DTO.CreateAccountDTO;
+import com.service.account.client.CustomerLookupClient;
+import com.service.account.model.AccountType;
+import com.service.account.service.AccountService;
+import com.service.account.sharding.ShardRebalancer;
+import com.service.account.sharding.ShardRouter;
+import com.service.account.stats.AccountStatistics;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.when;
+
+@SpringBootTest(properties = {
+        "eureka.client.enabled=false",
+        "spring.cloud.config.enabled=false",
+        "sharding.shards[0].name=shard0",
+        "sharding.shards[0].url=jdbc:h2:mem:shard0",
+        "sharding.shards[1].name=shard1",
+        "sharding.shards[1].url=jdbc:h2:mem:shard1",
+        "sharding.shards[2].name=shard2",
+        "sharding.shards[2].url=jdbc:h2:mem:shard2",
+        "sharding.catalog-refresh=PT1S"
+})
+class ShardingTest {
+
+    @Autowired
+    private AccountService service;
+
+    @Autowired
+    private ShardRouter router;
+
+    @Autowired
+    private ShardRebalancer rebalancer;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    @Autowired
+    private AccountStatistics statistics;
+
+    @MockitoBean
+    private CustomerLookupClient customerLookupClient;
+
+    @BeforeEach
+    void setUp() {
+        when(customerLookupClient.exists(anyLong())).thenReturn(true);
+    }
+
+    @Test
+    void testAccounts_SpreadAcrossShardsAndFoundById() {
+        long before = router.shards().stream().mapToLong(rebalancer::count).sum();
+        List<AccountDTO> created = LongStream.rangeClosed(1, 60)
+                .mapToObj(clientId -> service.createAccount(new CreateAccountDTO(100.0, AccountType.COURANT, clientId)))
+                .toList();
+
+        for (String shard : router.shards()) {
+            assertTrue(rebalancer.count(shard) > 0, shard + " received no accounts");
+        }
+        assertEquals(before + 60, router.shards().stream().mapToLong(rebalancer::count).sum());
+        for (AccountDTO account : created) {
+            assertEquals(ShardRouter.bucketOf(account.getClientId()), ShardRouter.bucketOfAccount(account.getId()));
+            assertEquals(account.getClientId(), service.getAccountById(account.getId()).getClientId());
+            assertEquals(1, service.getAccountsByCustomerId(account.getClientId()).size());
+        }
+    }
+
+    @Test
+    void testMove_KeepsAccountsReachable() throws Exception {
+        long clientId = 1000;
+        AccountDTO account = service.createAccount(new CreateAccountDTO(100.0, AccountType.EPARGNE, clientId));
+        int bucket = ShardRouter.bucketOf(clientId);
+        String source = router.ownerOf(bucket);
+        String target = router.shards().stream().filter(shard -> !shard.equals(source)).findFirst().orElseThrow();
+        long sourceCount = rebalancer.count(source);
+
+        assertEquals(1, rebalancer.move(bucket, target));
+
+        assertEquals(target, router.ownerOf(bucket));
+        assertEquals(account.getId(), service.getAccountById(account.getId()).getId());
+        AccountDTO second = service.createAccount(new CreateAccountDTO(5.0, AccountType.COURANT, clientId));
+        assertEquals(2, service.getAccountsByCustomerId(clientId).size());
+        assertNotEquals(account.getId(), second.getId());
+        // other instances may still route the bucket to the source shard
+        assertEquals(0, rebalancer.sweep());
+        assertEquals(sourceCount, rebalancer.count(source));
+
+        assertEquals(1, settle());
+        assertEquals(sourceCount - 1, rebalancer.count(source));
+
+        assertEquals(1, rebalancer.pending().size());
+        assertEquals(2, rebalancer.rebalance(ShardRouter.BUCKETS));
+        assertEquals(source, router.ownerOf(bucket));
+        assertTrue(rebalancer.pending().isEmpty());
+        assertEquals(2, service.getAccountsByCustomerId(clientId).size());
+        assertEquals(2, settle());
+    }
+
+    @Test
+    void testRebalance_MovesAccountsCreatedBeforeSharding() throws Exception {
+        long clientId = 2000;
+        int bucket = ShardRouter.bucketOf(clientId);
+        String source = router.ownerOf(bucket);
+        String target = router.shards().stream().filter(shard -> !shard.equals(source)).findFirst().orElseThrow();
+        long legacyId = 4242;
+        router.on(source, () -> jdbc.update(
+                "insert into account (id, balance, type, client_id) values (?, 10.0, 'COURANT', ?)", legacyId, clientId));
+        assertFalse(ShardRouter.carriesBucket(legacyId));
+
+        assertEquals(1, rebalancer.move(bucket, target));
+        assertEquals(1, settle());
+
+        assertEquals(legacyId, service.getAccountById(legacyId).getId());
+        assertEquals(1, router.on(target, () -> jdbc.queryForObject(
+                "select count(*) from account where id = ?", Long.class, legacyId)));
+        assertEquals(0, router.on(source, () -> jdbc.queryForObject(
+                "select count(*) from account where id = ?", Long.class, legacyId)));
+        rebalancer.move(bucket, source);
+        settle();
+    }
+
+    @Test
+    void testReconcile_CountsMovedBucketOnce() throws Exception {
+        long clientId = 3000;
+        service.createAccount(new CreateAccountDTO(70.0, AccountType.EPARGNE, clientId));
+        int bucket = ShardRouter.bucketOf(clientId);
+        String source = router.ownerOf(bucket);
+        String target = router.shards().stream().filter(shard -> !shard.equals(source)).findFirst().orElseThrow();
+        statistics.reconcile();
+        AccountStatisticsDTO before = statistics.snapshot();
+
+        assertEquals(1, rebalancer.move(bucket, target));
+        statistics.reconcile();
+
+        AccountStatisticsDTO after = statistics.snapshot();
+        for (AccountType type : AccountType.values()) {
+            assertEquals(before.getByType().get(type).getAccounts(), after.getByType().get(type).getAccounts(), type.name());
+            assertEquals(before.getByType().get(type).getBalance(), after.getByType().get(type).getBalance(), type.name());
+        }
+        rebalancer.move(bucket, source);
+        settle();
+    }
+
+    @Test
+    void testPools_PublishMetricsPerShard() {
+        for (String shard : router.shards()) {
+            assertNotNull(meterRegistry.find("hikaricp.connections.pending").tag("pool", shard).gauge(), shard);
+            assertNotNull(meterRegistry.find("hikaricp.connections.acquire").tag("pool", shard).timer(), shard);
+        }
+    }
+
+    // waits out two catalog refreshes, after which a sweep may delete what moves left behind
+    private long settle() throws InterruptedException {
+        Thread.sleep(2_100);
+        return rebalancer.sweep();
+    }
+}
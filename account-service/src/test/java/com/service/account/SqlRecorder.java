@@ -0,0 +1,174 @@
+package com.service.account;
+
+import com.service.account.sharding.ShardRoutingDataSource;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.fail;
+
+/**
+ * Records the SQL a call runs on the calling thread, with timings, and checks it against a
+ * statement budget and against H2 query plans that scan a large table end to end. Registered
+ * as a {@link BeanPostProcessor} so it sees every statement that reaches the DataSource,
+ * whether it comes from Hibernate or from a JdbcTemplate. Plans and row counts are taken
+ * on the shard the statement ran on.
+ */
+class SqlRecorder implements QueryExecutionListener, BeanPostProcessor {
+
+    private static final Logger log = LoggerFactory.getLogger(SqlRecorder.class);
+
+    /**
+     * Tables from this size up must be reached through an index.
+     */
+    static final long LARGE_TABLE_ROWS = 1_000;
+
+    private static final Pattern TABLE_SCAN = Pattern.compile("/\\* [\\w\"]+\\.([\\w\"]+)\\.tableScan");
+
+    private final ThreadLocal<List<RecordedStatement>> recording = new ThreadLocal<>();
+    // database URL to the pool that serves it, one per shard
+    private final Map<String, DataSource> databases = new HashMap<>();
+
+    record RecordedStatement(String sql, List<ParameterSetOperation> parameters, long elapsedMillis, String url) {
+        @Override
+        public String toString() {
+            return elapsedMillis + " ms  " + sql;
+        }
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof DataSource target && databases.isEmpty()) {
+            List<DataSource> shards = target instanceof ShardRoutingDataSource routing ? routing.getShards() : List.of(target);
+            for (DataSource shard : shards) {
+                try (Connection connection = shard.getConnection()) {
+                    databases.put(connection.getMetaData().getURL(), shard);
+                } catch (SQLException e) {
+                    throw new IllegalStateException("Could not connect to " + beanName, e);
+                }
+            }
+            return ProxyDataSourceBuilder.create(target).name(beanName).listener(this).build();
+        }
+        return bean;
+    }
+
+    List<RecordedStatement> record(Runnable call) {
+        List<RecordedStatement> statements = new ArrayList<>();
+        recording.set(statements);
+        try {
+            call.run();
+        } finally {
+            recording.remove();
+        }
+        return statements;
+    }
+
+    /**
+     * Runs the call and fails if it issues more than {@code budget} statements, or if any of
+     * its queries is planned as a full scan of a table holding {@link #LARGE_TABLE_ROWS} or more.
+     */
+    List<RecordedStatement> assertWithinBudget(String name, int budget, Runnable call) {
+        List<RecordedStatement> statements = record(call);
+        log.info("{}: {} statements, {} ms{}", name, statements.size(),
+                statements.stream().mapToLong(RecordedStatement::elapsedMillis).sum(), describe(statements));
+        if (statements.size() > budget) {
+            fail(name + " ran " + statements.size() + " statements, its budget is " + budget + describe(statements));
+        }
+        for (RecordedStatement statement : statements) {
+            if (!statement.sql().trim().toLowerCase(Locale.ROOT).startsWith("select")) {
+                continue;
+            }
+            DataSource database = databases.get(statement.url());
+            String plan = explain(statement, database);
+            Matcher scan = TABLE_SCAN.matcher(plan);
+            while (scan.find()) {
+                String table = scan.group(1).replace("\"", "");
+                long rows = rows(table, database);
+                if (rows >= LARGE_TABLE_ROWS) {
+                    fail(name + " scans all " + rows + " rows of " + table + ":\n  " + statement.sql() + "\nplan:\n  " + plan);
+                }
+            }
+        }
+        return statements;
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execution, List<QueryInfo> queries) {
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execution, List<QueryInfo> queries) {
+        List<RecordedStatement> statements = recording.get();
+        if (statements == null) {
+            return;
+        }
+        String url = url(execution);
+        for (QueryInfo query : queries) {
+            List<ParameterSetOperation> parameters = query.getParametersList().isEmpty()
+                    ? List.of() : query.getParametersList().get(0);
+            statements.add(new RecordedStatement(query.getQuery(), parameters, execution.getElapsedTime(), url));
+        }
+    }
+
+    private static String url(ExecutionInfo execution) {
+        try {
+            return execution.getStatement().getConnection().getMetaData().getURL();
+        } catch (SQLException e) {
+            throw new IllegalStateException("Could not tell which database ran a statement", e);
+        }
+    }
+
+    private static String explain(RecordedStatement statement, DataSource database) {
+        try (Connection connection = database.getConnection();
+             PreparedStatement explain = connection.prepareStatement("explain " + statement.sql())) {
+            for (ParameterSetOperation parameter : statement.parameters()) {
+                Object[] args = parameter.getArgs();
+                if (ParameterSetOperation.isSetNullParameterOperation(parameter)) {
+                    explain.setNull((Integer) args[0], (Integer) args[1]);
+                } else {
+                    explain.setObject((Integer) args[0], args[1]);
+                }
+            }
+            try (ResultSet plan = explain.executeQuery()) {
+                return plan.next() ? plan.getString(1) : "";
+            }
+        } catch (SQLException e) {
+            throw new IllegalStateException("Could not explain " + statement.sql(), e);
+        }
+    }
+
+    private static long rows(String table, DataSource database) {
+        try (Connection connection = database.getConnection();
+             Statement count = connection.createStatement();
+             ResultSet result = count.executeQuery("select count(*) from " + table)) {
+            result.next();
+            return result.getLong(1);
+        } catch (SQLException e) {
+            throw new IllegalStateException("Could not count " + table, e);
+        }
+    }
+
+    private static String describe(List<RecordedStatement> statements) {
+        return statements.stream().map(statement -> "\n  " + statement).collect(Collectors.joining());
+    }
+}
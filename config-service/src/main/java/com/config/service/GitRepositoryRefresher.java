@@ -0,0 +1,90 @@
+package com.config.service;
+
+import org.eclipse.jgit.api.Git;
+import org.eclipse.jgit.diff.DiffEntry;
+import org.eclipse.jgit.lib.ObjectId;
+import org.eclipse.jgit.lib.ObjectReader;
+import org.eclipse.jgit.lib.Repository;
+import org.eclipse.jgit.treewalk.CanonicalTreeParser;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cloud.config.monitor.PropertyPathEndpoint;
+import org.springframework.cloud.config.server.environment.MultipleJGitEnvironmentRepository;
+import org.springframework.http.HttpHeaders;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keeps the on-disk clone of the config repository up to date off the request
+ * path. Requests are answered from the clone; they only fetch themselves when
+ * this refresh is overdue (see {@code refresh-rate}), and a failed fetch leaves
+ * the last good clone in place. Files changed by a new commit are announced on
+ * the bus, so the applications they belong to refresh without a restart.
+ */
+@Component
+public class GitRepositoryRefresher {
+
+    private static final Logger log = LoggerFactory.getLogger(GitRepositoryRefresher.class);
+
+    private final ObjectProvider<MultipleJGitEnvironmentRepository> repository;
+    private final ObjectProvider<PropertyPathEndpoint> propertyPathEndpoint;
+    private String version;
+
+    public GitRepositoryRefresher(ObjectProvider<MultipleJGitEnvironmentRepository> repository,
+                                  ObjectProvider<PropertyPathEndpoint> propertyPathEndpoint) {
+        this.repository = repository;
+        this.propertyPathEndpoint = propertyPathEndpoint;
+    }
+
+    @Scheduled(initialDelay = 0, fixedDelayString = "${spring.cloud.config.server.git.refresh-rate:30}",
+            timeUnit = TimeUnit.SECONDS)
+    public void refresh() {
+        MultipleJGitEnvironmentRepository git = repository.getIfAvailable();
+        if (git == null) {
+            return;
+        }
+        String previous = version;
+        try {
+            version = git.refresh(git.getDefaultLabel());
+        } catch (RuntimeException e) {
+            log.warn("Could not refresh config repository {}, serving the local copy: {}", git.getUri(), e.getMessage());
+            return;
+        }
+        if (previous == null || Objects.equals(previous, version)) {
+            return;
+        }
+        PropertyPathEndpoint endpoint = propertyPathEndpoint.getIfAvailable();
+        if (endpoint == null) {
+            return;
+        }
+        try {
+            List<String> paths = changedPaths(git, previous, version);
+            log.info("Config repository moved to {}, notifying for {}", version, paths);
+            endpoint.notifyByForm(new HttpHeaders(), paths);
+        } catch (Exception e) {
+            log.warn("Could not diff config repository {}..{}", previous, version, e);
+        }
+    }
+
+    private static List<String> changedPaths(MultipleJGitEnvironmentRepository git, String from, String to) throws Exception {
+        try (Git clone = Git.open(git.getBasedir());
+             ObjectReader reader = clone.getRepository().newObjectReader()) {
+            return clone.diff()
+                    .setOldTree(tree(clone.getRepository(), reader, from))
+                    .setNewTree(tree(clone.getRepository(), reader, to))
+                    .call()
+                    .stream()
+                    .map(entry -> entry.getChangeType() == DiffEntry.ChangeType.DELETE ? entry.getOldPath() : entry.getNewPath())
+                    .toList();
+        }
+    }
+
+    private static CanonicalTreeParser tree(Repository repository, ObjectReader reader, String commit) throws Exception {
+        return new CanonicalTreeParser(null, reader, repository.parseCommit(ObjectId.fromString(commit)).getTree());
+    }
+}
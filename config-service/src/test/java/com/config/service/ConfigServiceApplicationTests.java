@@ -1,13 +1,35 @@
 package com.config.service;
 
 import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cloud.config.environment.Environment;
+import org.springframework.cloud.config.server.environment.EnvironmentRepository;
+import org.springframework.test.context.ActiveProfiles;
 
-@SpringBootTest
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SpringBootTest(properties = "spring.cloud.bus.enabled=false")
+@ActiveProfiles("native")
 class ConfigServiceApplicationTests {
 
+	@Autowired
+	private EnvironmentRepository repository;
+
 	@Test
 	void contextLoads() {
 	}
 
+	@Test
+	void servesCentralizedConfigFromNativeBackend() {
+		Environment environment = repository.findOne("account-service", "default", null);
+
+		assertEquals(8082, environment.getPropertySources().stream()
+				.filter(source -> source.getName().endsWith("account-service.yml"))
+				.findFirst()
+				.orElseThrow()
+				.getSource()
+				.get("server.port"));
+	}
+
 }
@@ -0,0 +1,102 @@
+package com.config.service;
+
+import io.micrometer.observation.ObservationRegistry;
+import org.eclipse.jgit.api.Git;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.cloud.config.monitor.PropertyPathEndpoint;
+import org.springframework.cloud.config.server.environment.MultipleJGitEnvironmentProperties;
+import org.springframework.cloud.config.server.environment.MultipleJGitEnvironmentRepository;
+import org.springframework.core.env.StandardEnvironment;
+import org.springframework.util.FileSystemUtils;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class GitRepositoryRefresherTest {
+
+    @TempDir
+    Path origin;
+
+    @TempDir
+    Path basedir;
+
+    private Git originGit;
+    private MultipleJGitEnvironmentRepository repository;
+    private PropertyPathEndpoint endpoint;
+    private GitRepositoryRefresher refresher;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        originGit = Git.init().setDirectory(origin.toFile()).setInitialBranch("main").call();
+        commit("account-service.yml", "server:\n  port: 8082\n");
+        commit("customer-service.yml", "server:\n  port: 8081\n");
+
+        repository = new MultipleJGitEnvironmentRepository(new StandardEnvironment(),
+                new MultipleJGitEnvironmentProperties(), ObservationRegistry.NOOP);
+        // A plain path rather than a file: URI, which would be served in place instead of cloned
+        repository.setUri(origin.toString());
+        repository.setBasedir(basedir.toFile());
+        repository.setDefaultLabel("main");
+
+        endpoint = mock(PropertyPathEndpoint.class);
+        refresher = new GitRepositoryRefresher(provider(MultipleJGitEnvironmentRepository.class, repository),
+                provider(PropertyPathEndpoint.class, endpoint));
+    }
+
+    @Test
+    void testRefresh_ClonesWithoutNotifying() {
+        refresher.refresh();
+
+        verify(endpoint, never()).notifyByForm(any(), any());
+        assertClonedFile("customer-service.yml");
+    }
+
+    @Test
+    void testRefresh_NotifiesChangedFilesOnly() throws Exception {
+        refresher.refresh();
+        commit("account-service.yml", "server:\n  port: 9082\n");
+
+        refresher.refresh();
+
+        verify(endpoint).notifyByForm(any(), eq(List.of("account-service.yml")));
+    }
+
+    @Test
+    void testRefresh_KeepsLocalCopyWhenOriginIsGone() throws Exception {
+        refresher.refresh();
+        originGit.close();
+        FileSystemUtils.deleteRecursively(origin);
+
+        refresher.refresh();
+
+        verify(endpoint, never()).notifyByForm(any(), any());
+        assertClonedFile("account-service.yml");
+    }
+
+    private void commit(String file, String content) throws Exception {
+        Files.writeString(origin.resolve(file), content);
+        originGit.add().addFilepattern(file).call();
+        originGit.commit().setMessage("update " + file).setSign(false).call();
+    }
+
+    private void assertClonedFile(String file) {
+        if (!Files.exists(basedir.resolve(file))) {
+            throw new AssertionError(file + " missing from " + basedir);
+        }
+    }
+
+    private static <T> ObjectProvider<T> provider(Class<T> type, T bean) {
+        StaticListableBeanFactory beanFactory = new StaticListableBeanFactory();
+        beanFactory.addBean(type.getSimpleName(), bean);
+        return beanFactory.getBeanProvider(type);
+    }
+}
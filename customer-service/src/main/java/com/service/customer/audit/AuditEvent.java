@@ -0,0 +1,60 @@
+package com.service.customer.audit;
+
+/**
+ * Pre-allocated ring buffer slot. Request threads fill it in, the writer thread
+ * serialises it and clears it for reuse, so the request path allocates nothing
+ * for the event itself.
+ */
+public class AuditEvent {
+
+    private long timestamp;
+    private String actor;
+    private AuditAction action;
+    private String entityType;
+    private Object entityId;
+    private Object before;
+    private Object after;
+
+    void set(long timestamp, String actor, AuditAction action, String entityType,
+             Object entityId, Object before, Object after) {
+        this.timestamp = timestamp;
+        this.actor = actor;
+        this.action = action;
+        this.entityType = entityType;
+        this.entityId = entityId;
+        this.before = before;
+        this.after = after;
+    }
+
+    void clear() {
+        set(0, null, null, null, null, null, null);
+    }
+
+    public long getTimestamp() {
+        return timestamp;
+    }
+
+    public String getActor() {
+        return actor;
+    }
+
+    public AuditAction getAction() {
+        return action;
+    }
+
+    public String getEntityType() {
+        return entityType;
+    }
+
+    public Object getEntityId() {
+        return entityId;
+    }
+
+    public Object getBefore() {
+        return before;
+    }
+
+    public Object getAfter() {
+        return after;
+    }
+}
@@ -0,0 +1,212 @@
+package com.service.customer.audit;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.lmax.disruptor.EventHandler;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.event.ContextClosedEvent;
+import org.springframework.context.event.EventListener;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.zip.CRC32C;
+
+/**
+ * Single consumer of the audit ring buffer. Events are appended as one JSON
+ * document per line followed by a tab and the CRC32C of the document, so a
+ * reader can detect torn or corrupted lines. Output is flushed (and, if
+ * configured, fsynced) once per batch the ring buffer hands over, which is what
+ * keeps the cost per event low under load. Each process start and each size
+ * rollover opens a new file; existing files are never reopened for writing.
+ * Sequence numbers restart with the process, so every record and file name
+ * carries a run id chosen at startup.
+ * <p>
+ * If a batch cannot be written, the file is abandoned and the whole batch is
+ * written again to a new one, backing off between attempts. A line may then
+ * appear in both files; readers keep the first copy of each {@code (run, seq)} whose
+ * checksum matches. While the writer retries, the ring buffer fills up and the
+ * {@link OverflowPolicy} applies to new events. Only once the application is
+ * shutting down is a batch that still cannot be written given up on.
+ */
+public class AuditFileWriter implements EventHandler<AuditEvent> {
+
+    private static final Logger log = LoggerFactory.getLogger(AuditFileWriter.class);
+    private static final DateTimeFormatter FILE_TIMESTAMP =
+            DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss'Z'").withZone(ZoneOffset.UTC);
+    private static final long INITIAL_BACKOFF_MILLIS = 100;
+    private static final long MAX_BACKOFF_MILLIS = 5_000;
+
+    private final String run = UUID.randomUUID().toString();
+    private final Path directory;
+    private final long maxFileBytes;
+    private final boolean fsync;
+    private final ObjectMapper objectMapper;
+    private final CRC32C checksum = new CRC32C();
+    private final List<byte[]> batch = new ArrayList<>();
+    private final Counter writeFailures;
+    private final Counter lost;
+
+    private FileChannel channel;
+    private OutputStream out;
+    private long fileBytes;
+    private int fileIndex;
+    private volatile boolean stopping;
+
+    public AuditFileWriter(AuditProperties properties, ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        this.directory = properties.getDirectory();
+        this.maxFileBytes = properties.getMaxFileSize().toBytes();
+        this.fsync = properties.isFsync();
+        this.objectMapper = objectMapper;
+        this.writeFailures = meterRegistry.counter("audit.write.failures");
+        this.lost = meterRegistry.counter("audit.events.lost");
+    }
+
+    @Override
+    public void onEvent(AuditEvent event, long sequence, boolean endOfBatch) {
+        try {
+            batch.add(toLine(event, sequence));
+        } catch (JsonProcessingException e) {
+            lost.increment();
+            log.error("Could not serialise audit event {} ({} {} {})", sequence,
+                    event.getAction(), event.getEntityType(), event.getEntityId(), e);
+        } finally {
+            event.clear();
+        }
+        if (endOfBatch) {
+            writeBatch();
+        }
+    }
+
+    @Override
+    public void onShutdown() {
+        writeBatch();
+        try {
+            close();
+        } catch (IOException e) {
+            log.error("Could not close audit file", e);
+        }
+    }
+
+    @EventListener(ContextClosedEvent.class)
+    public void stopRetrying() {
+        stopping = true;
+    }
+
+    private void writeBatch() {
+        long backoffMillis = INITIAL_BACKOFF_MILLIS;
+        while (!batch.isEmpty()) {
+            try {
+                if (out == null) {
+                    open();
+                }
+                for (byte[] line : batch) {
+                    out.write(line);
+                    fileBytes += line.length;
+                }
+                sync();
+                batch.clear();
+                if (fileBytes >= maxFileBytes) {
+                    close();
+                }
+            } catch (IOException e) {
+                writeFailures.increment();
+                abandon();
+                if (stopping) {
+                    lost.increment(batch.size());
+                    log.error("Giving up on {} audit events during shutdown", batch.size(), e);
+                    batch.clear();
+                    return;
+                }
+                log.error("Could not write {} audit events, retrying on a new file in {} ms",
+                        batch.size(), backoffMillis, e);
+                LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(backoffMillis));
+                backoffMillis = Math.min(backoffMillis * 2, MAX_BACKOFF_MILLIS);
+            }
+        }
+    }
+
+    private byte[] toLine(AuditEvent event, long sequence) throws JsonProcessingException {
+        byte[] record = objectMapper.writeValueAsBytes(toRecord(event, sequence));
+        checksum.reset();
+        checksum.update(record);
+        byte[] suffix = String.format("\t%08x\n", checksum.getValue()).getBytes(StandardCharsets.US_ASCII);
+        byte[] line = new byte[record.length + suffix.length];
+        System.arraycopy(record, 0, line, 0, record.length);
+        System.arraycopy(suffix, 0, line, record.length, suffix.length);
+        return line;
+    }
+
+    private Map<String, Object> toRecord(AuditEvent event, long sequence) {
+        Map<String, Object> record = new LinkedHashMap<>();
+        record.put("run", run);
+        record.put("seq", sequence);
+        record.put("timestamp", Instant.ofEpochMilli(event.getTimestamp()).toString());
+        record.put("actor", event.getActor());
+        record.put("action", event.getAction());
+        record.put("entity", event.getEntityType());
+        record.put("entityId", event.getEntityId());
+        record.put("before", event.getBefore());
+        record.put("after", event.getAfter());
+        return record;
+    }
+
+    private void open() throws IOException {
+        Files.createDirectories(directory);
+        Path file = directory.resolve("audit-" + FILE_TIMESTAMP.format(Instant.now()) + "-" + run + "-" + fileIndex++ + ".log");
+        channel = FileChannel.open(file, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+        out = new BufferedOutputStream(Channels.newOutputStream(channel), 64 * 1024);
+        fileBytes = 0;
+    }
+
+    private void sync() throws IOException {
+        out.flush();
+        if (fsync) {
+            channel.force(false);
+        }
+    }
+
+    private void close() throws IOException {
+        if (out == null) {
+            return;
+        }
+        try {
+            sync();
+        } finally {
+            out.close();
+            out = null;
+            channel = null;
+        }
+    }
+
+    private void abandon() {
+        if (channel != null) {
+            try {
+                channel.close();
+            } catch (IOException e) {
+                log.warn("Could not close abandoned audit file", e);
+            }
+        }
+        out = null;
+        channel = null;
+    }
+}
@@ -0,0 +1,127 @@
+package com.service.customer.audit;
+
+import com.lmax.disruptor.RingBuffer;
+import com.service.customer.exception.AuditBufferFullException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Entry point of the audit trail. Recording an event only claims a ring buffer
+ * slot and copies references into it; serialisation and disk I/O happen on the
+ * writer thread. When the writer falls behind, the configured
+ * {@link OverflowPolicy} decides whether the request waits, fails or drops.
+ * <p>
+ * Callers that change data {@link #reserve()} room before the change, so the
+ * policy is applied while the request can still be refused cleanly, and publish
+ * once the change has committed. Reserving only counts against the buffer size;
+ * the slot itself is claimed when the event is published, so a slow change never
+ * holds up the writer or the events of other requests.
+ */
+public class AuditLogger {
+
+    /**
+     * Recorded for requests until authentication identifies the caller. Headers
+     * naming a user are not trusted, and the gateway strips them.
+     */
+    static final String ANONYMOUS = "anonymous";
+
+    private static final long BLOCK_PARK_NANOS = 50_000;
+
+    private final RingBuffer<AuditEvent> ringBuffer;
+    private final OverflowPolicy overflowPolicy;
+    private final long blockTimeoutNanos;
+    private final Counter dropped;
+    private final Counter rejected;
+    // Reservations handed out, less cancelled ones. Every claim on the ring is made
+    // against one, so a holder always finds a free slot when it publishes.
+    private final AtomicLong granted = new AtomicLong();
+
+    public AuditLogger(RingBuffer<AuditEvent> ringBuffer, AuditProperties properties, MeterRegistry meterRegistry) {
+        this.ringBuffer = ringBuffer;
+        this.overflowPolicy = properties.getOverflowPolicy();
+        this.blockTimeoutNanos = properties.getBlockTimeout().toNanos();
+        this.dropped = meterRegistry.counter("audit.events.dropped");
+        this.rejected = meterRegistry.counter("audit.events.rejected");
+    }
+
+    public AuditSlot reserve() {
+        return new AuditSlot(this, claim());
+    }
+
+    public void record(AuditAction action, String entityType, Object entityId, Object before, Object after) {
+        try (AuditSlot slot = reserve()) {
+            slot.publish(action, entityType, entityId, before, after);
+        }
+    }
+
+    /**
+     * Slots neither holding an unwritten event nor reserved.
+     */
+    public long remainingCapacity() {
+        return limit() - granted.get();
+    }
+
+    void publish(boolean reserved, AuditAction action, String entityType, Object entityId, Object before, Object after) {
+        if (!reserved) {
+            return;
+        }
+        long sequence = ringBuffer.next();
+        try {
+            ringBuffer.get(sequence).set(System.currentTimeMillis(), currentActor(), action, entityType, entityId, before, after);
+        } finally {
+            ringBuffer.publish(sequence);
+        }
+    }
+
+    void cancel(boolean reserved) {
+        if (reserved) {
+            granted.decrementAndGet();
+        }
+    }
+
+    private boolean claim() {
+        if (tryReserve()) {
+            return true;
+        }
+        if (overflowPolicy == OverflowPolicy.DROP) {
+            dropped.increment();
+            return false;
+        }
+        if (overflowPolicy == OverflowPolicy.BLOCK) {
+            long deadline = System.nanoTime() + blockTimeoutNanos;
+            while (System.nanoTime() - deadline < 0) {
+                LockSupport.parkNanos(BLOCK_PARK_NANOS);
+                if (tryReserve()) {
+                    return true;
+                }
+            }
+        }
+        rejected.increment();
+        throw new AuditBufferFullException();
+    }
+
+    private boolean tryReserve() {
+        while (true) {
+            long current = granted.get();
+            // the writer only moves forward, so reading its position after the count errs on the safe side
+            if (current >= limit()) {
+                return false;
+            }
+            if (granted.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    private long limit() {
+        return ringBuffer.getMinimumGatingSequence() + 1 + ringBuffer.getBufferSize();
+    }
+
+    private static String currentActor() {
+        return RequestContextHolder.getRequestAttributes() != null ? ANONYMOUS : "system";
+    }
+}
@@ -0,0 +1,55 @@
+package com.service.customer.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.lmax.disruptor.SleepingWaitStrategy;
+import com.lmax.disruptor.dsl.Disruptor;
+import com.lmax.disruptor.dsl.ProducerType;
+import com.service.customer.audit.AuditEvent;
+import com.service.customer.audit.AuditFileWriter;
+import com.service.customer.audit.AuditLogger;
+import com.service.customer.audit.AuditProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(AuditProperties.class)
+public class AuditConfig {
+
+    @Bean
+    public AuditFileWriter auditFileWriter(AuditProperties properties, ObjectMapper objectMapper,
+                                           MeterRegistry meterRegistry) {
+        return new AuditFileWriter(properties, objectMapper, meterRegistry);
+    }
+
+    // shutdown() drains everything already published before the writer stops
+    @Bean(destroyMethod = "shutdown")
+    public Disruptor<AuditEvent> auditDisruptor(AuditProperties properties, AuditFileWriter auditFileWriter) {
+        Disruptor<AuditEvent> disruptor = new Disruptor<>(
+                AuditEvent::new,
+                ceilingPowerOfTwo(properties.getBufferSize()),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "audit-writer");
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                ProducerType.MULTI,
+                new SleepingWaitStrategy());
+        disruptor.handleEventsWith(auditFileWriter);
+        disruptor.start();
+        return disruptor;
+    }
+
+    @Bean
+    public AuditLogger auditLogger(Disruptor<AuditEvent> auditDisruptor, AuditProperties properties,
+                                   MeterRegistry meterRegistry) {
+        AuditLogger auditLogger = new AuditLogger(auditDisruptor.getRingBuffer(), properties, meterRegistry);
+        meterRegistry.gauge("audit.buffer.remaining", auditLogger, AuditLogger::remainingCapacity);
+        return auditLogger;
+    }
+
+    private static int ceilingPowerOfTwo(int size) {
+        return size <= 1 ? 1 : Integer.highestOneBit(size - 1) << 1;
+    }
+}
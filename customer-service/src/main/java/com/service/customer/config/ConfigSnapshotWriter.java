@@ -0,0 +1,56 @@
+package com.service.customer.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.cloud.context.environment.EnvironmentChangeEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.env.ConfigurableEnvironment;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Properties;
+
+/**
+ * Saves the configuration received from config-service after startup and after
+ * every live refresh. The file holds credentials; it is written through a temp
+ * file, which is created readable by the owner only, and then moved in place.
+ */
+@Component
+public class ConfigSnapshotWriter {
+
+    private static final Logger log = LoggerFactory.getLogger(ConfigSnapshotWriter.class);
+
+    private final ConfigurableEnvironment environment;
+
+    public ConfigSnapshotWriter(ConfigurableEnvironment environment) {
+        this.environment = environment;
+    }
+
+    @EventListener({ApplicationReadyEvent.class, EnvironmentChangeEvent.class})
+    public void write() {
+        Properties snapshot = ConfigSnapshot.capture(environment.getPropertySources());
+        if (snapshot.isEmpty()) {
+            return;
+        }
+        Path location = ConfigSnapshot.location(environment).toAbsolutePath();
+        try {
+            Files.createDirectories(location.getParent());
+            Path temp = Files.createTempFile(location.getParent(), location.getFileName().toString(), ".tmp");
+            try {
+                try (Writer writer = Files.newBufferedWriter(temp)) {
+                    snapshot.store(writer, "Last configuration received from config-service");
+                }
+                Files.move(temp, location, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                Files.deleteIfExists(temp);
+            }
+        } catch (IOException e) {
+            log.warn("Could not save config snapshot to {}", location, e);
+        }
+    }
+}
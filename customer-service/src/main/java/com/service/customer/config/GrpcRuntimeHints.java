@@ -0,0 +1,27 @@
+package com.service.customer.config;
+
+import com.service.customer.grpc.CustomerExistence;
+import com.service.customer.grpc.CustomerIds;
+import com.service.customer.grpc.CustomerRecord;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+
+import java.util.List;
+
+/**
+ * Protobuf looks up the generated message accessors reflectively, which a native
+ * image only allows for registered types.
+ */
+public class GrpcRuntimeHints implements RuntimeHintsRegistrar {
+
+    @Override
+    public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+        for (Class<?> message : List.of(CustomerIds.class, CustomerExistence.class, CustomerRecord.class)) {
+            hints.reflection().registerType(message, MemberCategory.INVOKE_PUBLIC_METHODS);
+            for (Class<?> nested : message.getDeclaredClasses()) {
+                hints.reflection().registerType(nested, MemberCategory.INVOKE_PUBLIC_METHODS);
+            }
+        }
+    }
+}
@@ -2,8 +2,10 @@ package com.service.customer.controller;
 
 
 import com.service.customer.DTO.CustomerDTO;
+import com.service.customer.config.WebConfig;
 import com.service.customer.service.CustomerService;
 import jakarta.validation.Valid;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -11,7 +13,7 @@ import org.springframework.web.bind.annotation.*;
 import java.util.List;
 
 @RestController
-@RequestMapping("/customers")
+@RequestMapping(value = "/customers", produces = {MediaType.APPLICATION_JSON_VALUE, WebConfig.APPLICATION_SMILE_VALUE})
 public class CustomerController {
     private CustomerService service;
 
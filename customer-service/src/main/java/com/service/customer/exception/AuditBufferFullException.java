@@ -0,0 +1,8 @@
+package com.service.customer.exception;
+
+
+public class AuditBufferFullException extends RuntimeException {
+    public AuditBufferFullException() {
+        super("Audit trail is saturated, please retry later.");
+    }
+}
@@ -0,0 +1,43 @@
+package com.service.customer.grpc;
+
+import com.service.customer.DTO.CustomerDTO;
+import com.service.customer.service.CustomerService;
+import io.grpc.stub.StreamObserver;
+import net.devh.boot.grpc.server.service.GrpcService;
+
+import java.util.Objects;
+import java.util.Set;
+
+@GrpcService
+public class CustomerLookupGrpcService extends CustomerLookupGrpc.CustomerLookupImplBase {
+
+    private final CustomerService service;
+
+    public CustomerLookupGrpcService(CustomerService service) {
+        this.service = service;
+    }
+
+    @Override
+    public void exists(CustomerIds request, StreamObserver<CustomerExistence> responseObserver) {
+        Set<Long> existing = service.findExistingIds(request.getIdsList());
+        for (Long id : request.getIdsList()) {
+            responseObserver.onNext(CustomerExistence.newBuilder()
+                    .setId(id)
+                    .setExists(existing.contains(id))
+                    .build());
+        }
+        responseObserver.onCompleted();
+    }
+
+    @Override
+    public void get(CustomerIds request, StreamObserver<CustomerRecord> responseObserver) {
+        for (CustomerDTO customer : service.getCustomersByIds(request.getIdsList())) {
+            responseObserver.onNext(CustomerRecord.newBuilder()
+                    .setId(customer.getId())
+                    .setName(Objects.requireNonNullElse(customer.getName(), ""))
+                    .setEmail(Objects.requireNonNullElse(customer.getEmail(), ""))
+                    .build());
+        }
+        responseObserver.onCompleted();
+    }
+}
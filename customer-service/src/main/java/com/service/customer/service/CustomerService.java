@@ -2,7 +2,9 @@ package com.service.customer.service;
 
 import com.service.customer.DTO.CustomerDTO;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Set;
 
 public interface CustomerService {
 
@@ -11,4 +13,8 @@ public interface CustomerService {
     List<CustomerDTO> getAllCustomers();
 
     CustomerDTO getCustomerById(Long id);
+
+    Set<Long> findExistingIds(Collection<Long> ids);
+
+    List<CustomerDTO> getCustomersByIds(Collection<Long> ids);
 }
@@ -1,6 +1,9 @@
 package com.service.customer.service.impl;
 
 import com.service.customer.DTO.CustomerDTO;
+import com.service.customer.audit.AuditAction;
+import com.service.customer.audit.AuditLogger;
+import com.service.customer.audit.AuditSlot;
 import com.service.customer.exception.CustomerNotFoundException;
 import com.service.customer.mapper.CustomerMapper;
 import com.service.customer.model.Customer;
@@ -8,7 +11,10 @@ import com.service.customer.repository.CustomerRepository;
 import com.service.customer.service.CustomerService;
 import org.springframework.stereotype.Service;
 
+import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 
 @Service
@@ -16,15 +22,21 @@ public class CustomerServiceImpl implements CustomerService {
 
     private CustomerRepository repository;
     private CustomerMapper mapper;
+    private AuditLogger auditLogger;
 
-    public CustomerServiceImpl(CustomerRepository repository, CustomerMapper mapper) {
+    public CustomerServiceImpl(CustomerRepository repository, CustomerMapper mapper, AuditLogger auditLogger) {
         this.repository = repository;
         this.mapper = mapper;
+        this.auditLogger = auditLogger;
     }
 
     public CustomerDTO saveCustomer(CustomerDTO customerDTO) {
         Customer customer = mapper.toCustomer(customerDTO);
-        return mapper.toCustomerDTO(repository.save(customer));
+        try (AuditSlot audit = auditLogger.reserve()) {
+            CustomerDTO saved = mapper.toCustomerDTO(repository.save(customer));
+            audit.publish(AuditAction.CREATE, "Customer", saved.getId(), null, saved);
+            return saved;
+        }
     }
 
     public List<CustomerDTO> getAllCustomers() {
@@ -36,4 +48,12 @@ public class CustomerServiceImpl implements CustomerService {
                 .map(mapper::toCustomerDTO)
                 .orElseThrow(() -> new CustomerNotFoundException(id));
     }
+
+    public Set<Long> findExistingIds(Collection<Long> ids) {
+        return new HashSet<>(repository.findExistingIds(ids));
+    }
+
+    public List<CustomerDTO> getCustomersByIds(Collection<Long> ids) {
+        return mapper.toCustomerDTOs(repository.findAllById(ids));
+    }
 }
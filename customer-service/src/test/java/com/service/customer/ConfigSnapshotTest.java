@@ -0,0 +1,50 @@
+package com.service.customer;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.context.event.ApplicationEnvironmentPreparedEvent;
+import org.springframework.context.ApplicationEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.core.env.ConfigurableEnvironment;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConfigSnapshotTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void testStartup_LoadsSnapshotWhenConfigServerIsDown() throws Exception {
+        Path snapshot = directory.resolve("customer-service.properties");
+        Files.writeString(snapshot, "server.port=8081\ngrpc.server.port=9091\n");
+        SpringApplication application = new SpringApplication(CustomerApplication.class);
+        AtomicReference<ConfigurableEnvironment> prepared = new AtomicReference<>();
+        // Stop once the environment is ready; the post-processors have run by then.
+        application.addListeners((ApplicationListener<ApplicationEvent>) event -> {
+            if (event instanceof ApplicationEnvironmentPreparedEvent environmentPrepared) {
+                prepared.set(environmentPrepared.getEnvironment());
+                throw new EnvironmentPrepared();
+            }
+        });
+
+        assertThrows(EnvironmentPrepared.class, () -> application.run(
+                "--spring.cloud.config.enabled=true",
+                "--spring.config.import=optional:configserver:http://localhost:1",
+                "--config.snapshot.path=" + snapshot));
+
+        ConfigurableEnvironment environment = prepared.get();
+        assertTrue(environment.getPropertySources().contains("configSnapshot"));
+        assertEquals("8081", environment.getProperty("server.port"));
+        assertEquals("9091", environment.getProperty("grpc.server.port"));
+        assertEquals("customer-service", environment.getProperty("spring.application.name"));
+    }
+
+    private static final class EnvironmentPrepared extends RuntimeException {
+    }
+}
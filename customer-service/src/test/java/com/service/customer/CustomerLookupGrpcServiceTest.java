@@ -0,0 +1,76 @@
+package com.service.customer;
+
+import com.service.customer.DTO.CustomerDTO;
+import com.service.customer.grpc.CustomerExistence;
+import com.service.customer.grpc.CustomerIds;
+import com.service.customer.grpc.CustomerLookupGrpc;
+import com.service.customer.grpc.CustomerLookupGrpcService;
+import com.service.customer.grpc.CustomerRecord;
+import com.service.customer.service.CustomerService;
+import io.grpc.ManagedChannel;
+import io.grpc.Server;
+import io.grpc.inprocess.InProcessChannelBuilder;
+import io.grpc.inprocess.InProcessServerBuilder;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class CustomerLookupGrpcServiceTest {
+
+    private final CustomerService service = mock(CustomerService.class);
+    private Server server;
+    private ManagedChannel channel;
+    private CustomerLookupGrpc.CustomerLookupBlockingStub stub;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        String name = InProcessServerBuilder.generateName();
+        server = InProcessServerBuilder.forName(name)
+                .directExecutor()
+                .addService(new CustomerLookupGrpcService(service))
+                .build()
+                .start();
+        channel = InProcessChannelBuilder.forName(name).directExecutor().build();
+        stub = CustomerLookupGrpc.newBlockingStub(channel);
+    }
+
+    @AfterEach
+    void tearDown() {
+        channel.shutdownNow();
+        server.shutdownNow();
+    }
+
+    @Test
+    void testExists_AnswersEveryRequestedIdInOrder() {
+        when(service.findExistingIds(List.of(3L, 1L, 2L))).thenReturn(Set.of(1L, 3L));
+
+        List<CustomerExistence> answers = new ArrayList<>();
+        stub.exists(CustomerIds.newBuilder().addAllIds(List.of(3L, 1L, 2L)).build()).forEachRemaining(answers::add);
+
+        assertEquals(List.of(3L, 1L, 2L), answers.stream().map(CustomerExistence::getId).toList());
+        assertEquals(List.of(true, true, false), answers.stream().map(CustomerExistence::getExists).toList());
+    }
+
+    @Test
+    void testGet_StreamsFoundCustomers() {
+        CustomerDTO customer = new CustomerDTO();
+        customer.setId(7L);
+        customer.setName("Jane Doe");
+        when(service.getCustomersByIds(List.of(7L, 8L))).thenReturn(List.of(customer));
+
+        List<CustomerRecord> records = new ArrayList<>();
+        stub.get(CustomerIds.newBuilder().addAllIds(List.of(7L, 8L)).build()).forEachRemaining(records::add);
+
+        assertEquals(1, records.size());
+        assertEquals(7L, records.get(0).getId());
+        assertEquals("Jane Doe", records.get(0).getName());
+        assertEquals("", records.get(0).getEmail());
+    }
+}
@@ -1,6 +1,10 @@
 package com.service.customer;
 
 import com.service.customer.DTO.CustomerDTO;
+import com.service.customer.audit.AuditAction;
+import com.service.customer.audit.AuditLogger;
+import com.service.customer.audit.AuditSlot;
+import com.service.customer.exception.AuditBufferFullException;
 import com.service.customer.exception.CustomerNotFoundException;
 import com.service.customer.mapper.CustomerMapper;
 import com.service.customer.model.Customer;
@@ -16,6 +20,7 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -29,6 +34,12 @@ class CustomerServiceTest {
     @Mock
     private CustomerMapper mapper;
 
+    @Mock
+    private AuditLogger auditLogger;
+
+    @Mock
+    private AuditSlot auditSlot;
+
     @InjectMocks
     private CustomerServiceImpl service;
 
@@ -50,6 +61,7 @@ class CustomerServiceTest {
 
     @Test
     void testSaveCustomer_Success() {
+        when(auditLogger.reserve()).thenReturn(auditSlot);
         when(mapper.toCustomer(customerDTO)).thenReturn(customer);
         when(repository.save(customer)).thenReturn(customer);
         when(mapper.toCustomerDTO(customer)).thenReturn(customerDTO);
@@ -62,6 +74,18 @@ class CustomerServiceTest {
 
         verify(repository, times(1)).save(customer);
         verify(mapper, times(1)).toCustomerDTO(customer);
+        verify(auditSlot).publish(AuditAction.CREATE, "Customer", 1L, null, customerDTO);
+        verify(auditSlot).close();
+    }
+
+    @Test
+    void testSaveCustomer_AuditBufferFull() {
+        when(mapper.toCustomer(customerDTO)).thenReturn(customer);
+        when(auditLogger.reserve()).thenThrow(new AuditBufferFullException());
+
+        assertThrows(AuditBufferFullException.class, () -> service.saveCustomer(customerDTO));
+
+        verify(repository, never()).save(any());
     }
 
     @Test
@@ -107,4 +131,26 @@ class CustomerServiceTest {
         verify(repository, times(1)).findById(1L);
         verify(mapper, never()).toCustomerDTO(any());
     }
+
+    @Test
+    void testFindExistingIds() {
+        when(repository.findExistingIds(List.of(1L, 2L))).thenReturn(List.of(1L));
+
+        Set<Long> result = service.findExistingIds(List.of(1L, 2L));
+
+        assertEquals(Set.of(1L), result);
+        verify(repository, never()).findAllById(any());
+    }
+
+    @Test
+    void testGetCustomersByIds() {
+        List<Customer> customerList = List.of(customer);
+        when(repository.findAllById(List.of(1L, 2L))).thenReturn(customerList);
+        when(mapper.toCustomerDTOs(customerList)).thenReturn(List.of(customerDTO));
+
+        List<CustomerDTO> result = service.getCustomersByIds(List.of(1L, 2L));
+
+        assertEquals(1, result.size());
+        assertEquals("John Doe", result.get(0).getName());
+    }
 }
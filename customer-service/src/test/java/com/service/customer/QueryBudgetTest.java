@@ -0,0 +1,66 @@
+package com.service.customer;
+
+import com.service.customer.DTO.CustomerDTO;
+import com.service.customer.service.CustomerService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.jdbc.Sql;
+
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Statement budgets for the customer lookups, against 20,000 seeded customers.
+ */
+@SpringBootTest(properties = {
+        "eureka.client.enabled=false",
+        "spring.cloud.config.enabled=false",
+        "spring.datasource.url=jdbc:h2:mem:querybudget",
+        "grpc.server.port=-1"
+})
+@Import(SqlRecorder.class)
+@Sql(executionPhase = Sql.ExecutionPhase.BEFORE_TEST_CLASS, statements =
+        "insert into customer (id, name, email) "
+                + "select 1000000 + x, 'Customer ' || x, 'customer' || x || '@example.com' from system_range(1, 20000)")
+class QueryBudgetTest {
+
+    private static final List<Long> IDS = LongStream.rangeClosed(1000101, 1000150).boxed().toList();
+
+    @Autowired
+    private CustomerService service;
+
+    @Autowired
+    private SqlRecorder sqlRecorder;
+
+    @Test
+    void testGetCustomerById_OneIndexedQuery() {
+        sqlRecorder.assertWithinBudget("getCustomerById", 1, () -> service.getCustomerById(1004242L));
+    }
+
+    @Test
+    void testBatchLookups_OneIndexedQueryEach() {
+        sqlRecorder.assertWithinBudget("findExistingIds", 1,
+                () -> assertEquals(IDS.size(), service.findExistingIds(IDS).size()));
+        sqlRecorder.assertWithinBudget("getCustomersByIds", 1,
+                () -> assertEquals(IDS.size(), service.getCustomersByIds(IDS).size()));
+    }
+
+    @Test
+    void testSaveCustomer_SequenceAndInsert() {
+        CustomerDTO customer = new CustomerDTO();
+        customer.setName("Budget Test");
+        customer.setEmail("budget@example.com");
+
+        sqlRecorder.assertWithinBudget("saveCustomer", 2, () -> service.saveCustomer(customer));
+    }
+
+    // Listing everyone is a full scan by design; what must not happen is a query per customer.
+    @Test
+    void testGetAllCustomers_SingleQuery() {
+        assertEquals(1, sqlRecorder.record(service::getAllCustomers).size());
+    }
+}
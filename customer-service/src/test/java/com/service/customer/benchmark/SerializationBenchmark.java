@@ -0,0 +1,67 @@
+package com.service.customer.benchmark;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.service.customer.DTO.CustomerDTO;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * Encode/decode cost of a {@code GET /customers} payload as JSON and as Smile.
+ * Payload sizes are printed once per trial. Run with
+ * {@code mvn -Pbenchmark test-compile exec:exec}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SerializationBenchmark {
+
+    private static final TypeReference<List<CustomerDTO>> CUSTOMER_LIST = new TypeReference<>() {
+    };
+
+    @Param({"json", "smile"})
+    public String format;
+
+    @Param({"10", "1000"})
+    public int customers;
+
+    private ObjectMapper mapper;
+    private List<CustomerDTO> payload;
+    private byte[] encoded;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        mapper = "smile".equals(format) ? new ObjectMapper(new SmileFactory()) : new ObjectMapper();
+        payload = IntStream.range(0, customers).mapToObj(i -> {
+            CustomerDTO customer = new CustomerDTO();
+            customer.setId((long) i);
+            customer.setName("Customer " + i);
+            customer.setEmail("customer" + i + "@example.com");
+            return customer;
+        }).toList();
+        encoded = mapper.writeValueAsBytes(payload);
+        System.out.printf("%n%s payload for %d customers: %d bytes%n", format, customers, encoded.length);
+    }
+
+    @Benchmark
+    public byte[] encode() throws Exception {
+        return mapper.writeValueAsBytes(payload);
+    }
+
+    @Benchmark
+    public List<CustomerDTO> decode() throws Exception {
+        return mapper.readValue(encoded, CUSTOMER_LIST);
+    }
+}
@@ -0,0 +1,52 @@
+package com.service.discovery.config;
+
+import org.springframework.core.env.EnumerablePropertySource;
+import org.springframework.core.env.Environment;
+import org.springframework.core.env.PropertySource;
+
+import java.nio.file.Path;
+import java.util.Properties;
+
+/**
+ * Last configuration received from config-service, kept on disk so the service
+ * can still start while config-service is down.
+ */
+final class ConfigSnapshot {
+
+    static final String LOCATION_PROPERTY = "config.snapshot.path";
+
+    /**
+     * Prefix of the property sources the config client creates for config-service responses.
+     */
+    static final String CONFIG_SERVER_PREFIX = "configserver:";
+
+    private ConfigSnapshot() {
+    }
+
+    static Path location(Environment environment) {
+        String name = environment.getProperty("spring.application.name", "application");
+        return Path.of(environment.getProperty(LOCATION_PROPERTY, "config-snapshot/" + name + ".properties"));
+    }
+
+    static boolean isFromConfigServer(PropertySource<?> source) {
+        return source.getName().startsWith(CONFIG_SERVER_PREFIX);
+    }
+
+    /**
+     * Flattens the config-service property sources, highest precedence first, into one set of properties.
+     */
+    static Properties capture(Iterable<PropertySource<?>> sources) {
+        Properties properties = new Properties();
+        for (PropertySource<?> source : sources) {
+            if (isFromConfigServer(source) && source instanceof EnumerablePropertySource<?> enumerable) {
+                for (String name : enumerable.getPropertyNames()) {
+                    Object value = enumerable.getProperty(name);
+                    if (value != null) {
+                        properties.putIfAbsent(name, value.toString());
+                    }
+                }
+            }
+        }
+        return properties;
+    }
+}
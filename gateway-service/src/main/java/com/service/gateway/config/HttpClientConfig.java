@@ -0,0 +1,45 @@
+package com.service.gateway.config;
+
+import io.netty.channel.ChannelOption;
+import io.netty.channel.epoll.Epoll;
+import io.netty.channel.epoll.EpollChannelOption;
+import io.netty.channel.socket.nio.NioChannelOption;
+import jdk.net.ExtendedSocketOptions;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cloud.gateway.config.HttpClientCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import reactor.netty.http.HttpProtocol;
+
+@Configuration
+@EnableConfigurationProperties(UpstreamHttpProperties.class)
+public class HttpClientConfig {
+
+    @Bean
+    public HttpClientCustomizer upstreamHttpClientCustomizer(UpstreamHttpProperties properties) {
+        return httpClient -> {
+            if (properties.isH2c()) {
+                httpClient = httpClient.protocol(HttpProtocol.HTTP11, HttpProtocol.H2C);
+            }
+            if (properties.isTcpKeepAlive()) {
+                int idle = (int) properties.getTcpKeepIdle().toSeconds();
+                int interval = (int) properties.getTcpKeepInterval().toSeconds();
+                int count = properties.getTcpKeepCount();
+                httpClient = httpClient.option(ChannelOption.SO_KEEPALIVE, true);
+                // Reactor Netty runs on epoll when the native transport is available, on NIO otherwise.
+                if (Epoll.isAvailable()) {
+                    httpClient = httpClient
+                            .option(EpollChannelOption.TCP_KEEPIDLE, idle)
+                            .option(EpollChannelOption.TCP_KEEPINTVL, interval)
+                            .option(EpollChannelOption.TCP_KEEPCNT, count);
+                } else {
+                    httpClient = httpClient
+                            .option(NioChannelOption.of(ExtendedSocketOptions.TCP_KEEPIDLE), idle)
+                            .option(NioChannelOption.of(ExtendedSocketOptions.TCP_KEEPINTERVAL), interval)
+                            .option(NioChannelOption.of(ExtendedSocketOptions.TCP_KEEPCOUNT), count);
+                }
+            }
+            return httpClient;
+        };
+    }
+}
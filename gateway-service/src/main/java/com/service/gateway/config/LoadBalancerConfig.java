@@ -0,0 +1,26 @@
+package com.service.gateway.config;
+
+import com.service.gateway.loadbalancer.InstanceListCache;
+import com.service.gateway.loadbalancer.InstanceStatsRegistry;
+import com.service.gateway.loadbalancer.LatencyAwareLoadBalancerConfiguration;
+import com.service.gateway.loadbalancer.LatencyAwareProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cloud.loadbalancer.annotation.LoadBalancerClients;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(LatencyAwareProperties.class)
+@LoadBalancerClients(defaultConfiguration = LatencyAwareLoadBalancerConfiguration.class)
+public class LoadBalancerConfig {
+
+    @Bean
+    public InstanceStatsRegistry instanceStatsRegistry(LatencyAwareProperties properties) {
+        return new InstanceStatsRegistry(properties);
+    }
+
+    @Bean
+    public InstanceListCache instanceListCache(InstanceStatsRegistry registry) {
+        return new InstanceListCache(registry);
+    }
+}
@@ -0,0 +1,72 @@
+package com.service.gateway.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Transport settings of the gateway's connections to the backend services that
+ * are not covered by {@code spring.cloud.gateway.httpclient}. Pool sizing and
+ * idle eviction stay under {@code spring.cloud.gateway.httpclient.pool}.
+ */
+@ConfigurationProperties(prefix = "gateway.upstream")
+public class UpstreamHttpProperties {
+
+    /**
+     * Offer HTTP/2 cleartext (h2c) to the backends via the HTTP/1.1 upgrade
+     * handshake; backends that do not support it keep talking HTTP/1.1.
+     */
+    private boolean h2c = false;
+
+    /**
+     * Enable TCP keep-alive probes on pooled connections so that half-open
+     * connections to vanished instances are detected.
+     */
+    private boolean tcpKeepAlive = true;
+
+    private Duration tcpKeepIdle = Duration.ofSeconds(60);
+
+    private Duration tcpKeepInterval = Duration.ofSeconds(15);
+
+    private int tcpKeepCount = 4;
+
+    public boolean isH2c() {
+        return h2c;
+    }
+
+    public void setH2c(boolean h2c) {
+        this.h2c = h2c;
+    }
+
+    public boolean isTcpKeepAlive() {
+        return tcpKeepAlive;
+    }
+
+    public void setTcpKeepAlive(boolean tcpKeepAlive) {
+        this.tcpKeepAlive = tcpKeepAlive;
+    }
+
+    public Duration getTcpKeepIdle() {
+        return tcpKeepIdle;
+    }
+
+    public void setTcpKeepIdle(Duration tcpKeepIdle) {
+        this.tcpKeepIdle = tcpKeepIdle;
+    }
+
+    public Duration getTcpKeepInterval() {
+        return tcpKeepInterval;
+    }
+
+    public void setTcpKeepInterval(Duration tcpKeepInterval) {
+        this.tcpKeepInterval = tcpKeepInterval;
+    }
+
+    public int getTcpKeepCount() {
+        return tcpKeepCount;
+    }
+
+    public void setTcpKeepCount(int tcpKeepCount) {
+        this.tcpKeepCount = tcpKeepCount;
+    }
+}
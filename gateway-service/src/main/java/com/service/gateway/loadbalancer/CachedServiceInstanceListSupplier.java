@@ -0,0 +1,23 @@
+package com.service.gateway.loadbalancer;
+
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.loadbalancer.core.DelegatingServiceInstanceListSupplier;
+import org.springframework.cloud.loadbalancer.core.ServiceInstanceListSupplier;
+import reactor.core.publisher.Flux;
+
+import java.util.List;
+
+public class CachedServiceInstanceListSupplier extends DelegatingServiceInstanceListSupplier {
+
+    private final InstanceListCache cache;
+
+    public CachedServiceInstanceListSupplier(ServiceInstanceListSupplier delegate, InstanceListCache cache) {
+        super(delegate);
+        this.cache = cache;
+    }
+
+    @Override
+    public Flux<List<ServiceInstance>> get() {
+        return cache.get(getDelegate());
+    }
+}
@@ -0,0 +1,78 @@
+package com.service.gateway.loadbalancer;
+
+import com.netflix.appinfo.InstanceInfo;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.discovery.event.HeartbeatEvent;
+import org.springframework.cloud.loadbalancer.core.ServiceInstanceListSupplier;
+import org.springframework.cloud.netflix.eureka.EurekaServiceInstance;
+import org.springframework.context.event.EventListener;
+import reactor.core.publisher.Flux;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps the instance list of every load-balanced service in memory so that
+ * choosing an instance never waits on discovery. Instead of expiring entries
+ * after a fixed TTL, the lists are rebuilt each time the Eureka client finishes
+ * a registry (delta) fetch, which it signals with a {@link HeartbeatEvent}.
+ * <p>
+ * Lives in the gateway's main context: the per-service load-balancer contexts
+ * do not receive events published there.
+ */
+public class InstanceListCache {
+
+    private static final Logger log = LoggerFactory.getLogger(InstanceListCache.class);
+
+    private final Map<String, ServiceInstanceListSupplier> sources = new ConcurrentHashMap<>();
+    private final Map<String, List<ServiceInstance>> instances = new ConcurrentHashMap<>();
+    private final InstanceStatsRegistry registry;
+
+    public InstanceListCache(InstanceStatsRegistry registry) {
+        this.registry = registry;
+    }
+
+    public Flux<List<ServiceInstance>> get(ServiceInstanceListSupplier source) {
+        String serviceId = source.getServiceId();
+        sources.putIfAbsent(serviceId, source);
+        List<ServiceInstance> cached = instances.get(serviceId);
+        if (cached != null) {
+            return Flux.just(cached);
+        }
+        return fetch(source);
+    }
+
+    @EventListener(HeartbeatEvent.class)
+    public void onRegistryFetched() {
+        sources.values().forEach(source -> fetch(source).subscribe(
+                list -> { },
+                error -> log.warn("Could not refresh instances of {}", source.getServiceId(), error)));
+    }
+
+    private Flux<List<ServiceInstance>> fetch(ServiceInstanceListSupplier source) {
+        String serviceId = source.getServiceId();
+        return source.get().take(1).map(InstanceListCache::inService).doOnNext(list -> {
+            // An empty answer is not cached, so the next request asks discovery again.
+            if (list.isEmpty()) {
+                instances.remove(serviceId);
+            } else {
+                instances.put(serviceId, list);
+            }
+            registry.retainOnly(serviceId, list);
+        });
+    }
+
+    /**
+     * Health hint from the registry: replicas announcing DOWN, OUT_OF_SERVICE or
+     * STARTING (e.g. during a rolling restart) are taken out before balancing.
+     */
+    private static List<ServiceInstance> inService(List<ServiceInstance> list) {
+        return list.stream()
+                .filter(instance -> !(instance instanceof EurekaServiceInstance eureka)
+                        || eureka.getInstanceInfo().getStatus() == InstanceInfo.InstanceStatus.UP)
+                .toList();
+    }
+}
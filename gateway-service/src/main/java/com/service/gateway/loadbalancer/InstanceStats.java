@@ -0,0 +1,84 @@
+package com.service.gateway.loadbalancer;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Live view of one backend instance as seen from the gateway: a peak-sensitive
+ * moving average of its latency, the requests currently in flight and its
+ * outlier-ejection state.
+ */
+public class InstanceStats {
+
+    private final double decayNanos;
+    private final AtomicInteger outstanding = new AtomicInteger();
+    private final AtomicInteger consecutiveFailures = new AtomicInteger();
+
+    private double latencyNanos;
+    private long lastSampleNanos;
+    private int ejections;
+    private volatile boolean ejected;
+    private volatile long ejectedUntilNanos;
+
+    InstanceStats(double decayNanos, double initialLatencyNanos, long now) {
+        this.decayNanos = decayNanos;
+        this.latencyNanos = initialLatencyNanos;
+        this.lastSampleNanos = now;
+    }
+
+    void requestStarted() {
+        outstanding.incrementAndGet();
+    }
+
+    void requestFinished() {
+        outstanding.updateAndGet(current -> current > 0 ? current - 1 : 0);
+    }
+
+    /**
+     * Peak EWMA: a sample above the current average replaces it immediately, so a
+     * slow instance is penalised on its first slow response, while improvements
+     * are only trusted gradually.
+     */
+    synchronized void recordLatency(long sampleNanos, long now) {
+        if (sampleNanos > latencyNanos) {
+            latencyNanos = sampleNanos;
+        } else {
+            double weight = Math.exp(-(now - lastSampleNanos) / decayNanos);
+            latencyNanos = latencyNanos * weight + sampleNanos * (1 - weight);
+        }
+        lastSampleNanos = now;
+    }
+
+    void recordSuccess() {
+        consecutiveFailures.set(0);
+    }
+
+    /**
+     * @return the consecutive failure count including this one
+     */
+    int recordFailure() {
+        return consecutiveFailures.incrementAndGet();
+    }
+
+    synchronized void eject(long now, long baseEjectionNanos, long maxEjectionNanos) {
+        ejections++;
+        ejectedUntilNanos = now + Math.min(baseEjectionNanos * ejections, maxEjectionNanos);
+        ejected = true;
+        consecutiveFailures.set(0);
+    }
+
+    synchronized double cost() {
+        return latencyNanos * (outstanding.get() + 1);
+    }
+
+    boolean isEjected(long now) {
+        return ejected && ejectedUntilNanos - now > 0;
+    }
+
+    int getOutstanding() {
+        return outstanding.get();
+    }
+
+    synchronized double getLatencyNanos() {
+        return latencyNanos;
+    }
+}
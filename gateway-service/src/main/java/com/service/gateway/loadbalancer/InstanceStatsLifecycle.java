@@ -0,0 +1,76 @@
+package com.service.gateway.loadbalancer;
+
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.CompletionContext;
+import org.springframework.cloud.client.loadbalancer.LoadBalancerLifecycle;
+import org.springframework.cloud.client.loadbalancer.Request;
+import org.springframework.cloud.client.loadbalancer.RequestDataContext;
+import org.springframework.cloud.client.loadbalancer.Response;
+import org.springframework.cloud.client.loadbalancer.ResponseData;
+import org.springframework.cloud.client.loadbalancer.TimedRequestContext;
+
+/**
+ * Passive health checking: every request proxied through a {@code lb://} route
+ * reports its latency and outcome back into the {@link InstanceStatsRegistry}.
+ */
+public class InstanceStatsLifecycle implements LoadBalancerLifecycle<RequestDataContext, ResponseData, ServiceInstance> {
+
+    private final InstanceStatsRegistry registry;
+
+    public InstanceStatsLifecycle(InstanceStatsRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Override
+    public boolean supports(Class requestContextClass, Class responseClass, Class serverTypeClass) {
+        return RequestDataContext.class.isAssignableFrom(requestContextClass)
+                && ResponseData.class.isAssignableFrom(responseClass)
+                && ServiceInstance.class.isAssignableFrom(serverTypeClass);
+    }
+
+    @Override
+    public void onStart(Request<RequestDataContext> request) {
+    }
+
+    @Override
+    public void onStartRequest(Request<RequestDataContext> request, Response<ServiceInstance> lbResponse) {
+        if (!lbResponse.hasServer()) {
+            return;
+        }
+        TimedRequestContext context = request.getContext();
+        if (context != null && context.getRequestStartTime() == 0) {
+            context.setRequestStartTime(registry.now());
+        }
+        registry.requestStarted(lbResponse.getServer());
+    }
+
+    @Override
+    public void onComplete(CompletionContext<ResponseData, ServiceInstance, RequestDataContext> completionContext) {
+        Response<ServiceInstance> lbResponse = completionContext.getLoadBalancerResponse();
+        if (lbResponse == null || !lbResponse.hasServer()) {
+            return;
+        }
+        ServiceInstance instance = lbResponse.getServer();
+        long latency = elapsedSince(completionContext.getLoadBalancerRequest());
+        switch (completionContext.status()) {
+            case SUCCESS -> {
+                ResponseData response = completionContext.getClientResponse();
+                if (response != null && response.getHttpStatus() != null && response.getHttpStatus().is5xxServerError()) {
+                    registry.requestFailed(instance, latency);
+                } else {
+                    registry.requestSucceeded(instance, latency);
+                }
+            }
+            case FAILED -> registry.requestFailed(instance, latency);
+            case DISCARD -> registry.requestDiscarded(instance);
+        }
+    }
+
+    private long elapsedSince(Request<RequestDataContext> request) {
+        TimedRequestContext context = request != null ? request.getContext() : null;
+        if (context == null || context.getRequestStartTime() == 0) {
+            return 0;
+        }
+        return Math.max(0, registry.now() - context.getRequestStartTime());
+    }
+}
@@ -0,0 +1,119 @@
+package com.service.gateway.loadbalancer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cloud.client.ServiceInstance;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+import java.util.stream.Collectors;
+
+/**
+ * Shared by the load balancers of every route: the balancers read it to pick an
+ * instance, {@link InstanceStatsLifecycle} feeds it with the observed outcome of
+ * each proxied request.
+ */
+public class InstanceStatsRegistry {
+
+    private static final Logger log = LoggerFactory.getLogger(InstanceStatsRegistry.class);
+
+    private final Map<String, Map<String, InstanceStats>> statsByService = new ConcurrentHashMap<>();
+    private final LatencyAwareProperties properties;
+    private final LongSupplier nanoClock;
+
+    public InstanceStatsRegistry(LatencyAwareProperties properties) {
+        this(properties, System::nanoTime);
+    }
+
+    InstanceStatsRegistry(LatencyAwareProperties properties, LongSupplier nanoClock) {
+        this.properties = properties;
+        this.nanoClock = nanoClock;
+    }
+
+    public InstanceStats statsFor(ServiceInstance instance) {
+        return statsByService
+                .computeIfAbsent(serviceKey(instance), key -> new ConcurrentHashMap<>())
+                .computeIfAbsent(instanceKey(instance), key -> new InstanceStats(
+                        properties.getDecayTime().toNanos(),
+                        properties.getInitialLatency().toNanos(),
+                        nanoClock.getAsLong()));
+    }
+
+    public boolean isEjected(ServiceInstance instance) {
+        return statsFor(instance).isEjected(nanoClock.getAsLong());
+    }
+
+    public void requestStarted(ServiceInstance instance) {
+        statsFor(instance).requestStarted();
+    }
+
+    public void requestSucceeded(ServiceInstance instance, long latencyNanos) {
+        InstanceStats stats = statsFor(instance);
+        stats.requestFinished();
+        if (latencyNanos > 0) {
+            stats.recordLatency(latencyNanos, nanoClock.getAsLong());
+        }
+        stats.recordSuccess();
+    }
+
+    /**
+     * Records a 5xx response or a failed exchange (timeout, refused connection) and
+     * ejects the instance once it crosses the failure threshold, unless that would
+     * take more than the allowed share of the service's instances out of rotation.
+     */
+    public void requestFailed(ServiceInstance instance, long latencyNanos) {
+        InstanceStats stats = statsFor(instance);
+        long now = nanoClock.getAsLong();
+        stats.requestFinished();
+        if (latencyNanos > 0) {
+            stats.recordLatency(latencyNanos, now);
+        }
+        if (stats.recordFailure() < properties.getFailureThreshold() || stats.isEjected(now)) {
+            return;
+        }
+        Map<String, InstanceStats> siblings = statsByService.get(serviceKey(instance));
+        long ejected = siblings.values().stream().filter(s -> s.isEjected(now)).count();
+        if ((ejected + 1) * 100 > (long) siblings.size() * properties.getMaxEjectionPercent()) {
+            log.warn("Not ejecting {}: {} of {} instances of {} are already ejected",
+                    instanceKey(instance), ejected, siblings.size(), instance.getServiceId());
+            return;
+        }
+        stats.eject(now, properties.getBaseEjectionTime().toNanos(), properties.getMaxEjectionTime().toNanos());
+        log.warn("Ejected {} of {} after {} consecutive failures",
+                instanceKey(instance), instance.getServiceId(), properties.getFailureThreshold());
+    }
+
+    public void requestDiscarded(ServiceInstance instance) {
+        statsFor(instance).requestFinished();
+    }
+
+    /**
+     * Drops the stats of instances that are no longer registered so that restarted
+     * replicas with new addresses do not accumulate.
+     */
+    public void retainOnly(String serviceId, Collection<ServiceInstance> instances) {
+        Map<String, InstanceStats> stats = statsByService.get(serviceId.toLowerCase());
+        if (stats == null) {
+            return;
+        }
+        Set<String> live = instances.stream().map(InstanceStatsRegistry::instanceKey).collect(Collectors.toSet());
+        stats.keySet().retainAll(live);
+    }
+
+    long now() {
+        return nanoClock.getAsLong();
+    }
+
+    private static String serviceKey(ServiceInstance instance) {
+        return instance.getServiceId().toLowerCase();
+    }
+
+    private static String instanceKey(ServiceInstance instance) {
+        return instance.getInstanceId() != null
+                ? instance.getInstanceId()
+                : instance.getHost() + ":" + instance.getPort();
+    }
+}
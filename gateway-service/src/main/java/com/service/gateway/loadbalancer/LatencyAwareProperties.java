@@ -0,0 +1,84 @@
+package com.service.gateway.loadbalancer;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "gateway.loadbalancer")
+public class LatencyAwareProperties {
+
+    /**
+     * Time constant of the latency moving average; older samples lose weight exponentially.
+     */
+    private Duration decayTime = Duration.ofSeconds(10);
+
+    /**
+     * Latency assumed for an instance until its first response has been observed.
+     */
+    private Duration initialLatency = Duration.ofMillis(20);
+
+    /**
+     * Consecutive 5xx responses or timeouts after which an instance is ejected.
+     */
+    private int failureThreshold = 5;
+
+    /**
+     * Ejection time for the first ejection; repeated ejections are multiplied by their count.
+     */
+    private Duration baseEjectionTime = Duration.ofSeconds(30);
+
+    private Duration maxEjectionTime = Duration.ofMinutes(5);
+
+    /**
+     * Upper bound on the share of a service's instances that may be ejected at once.
+     */
+    private int maxEjectionPercent = 50;
+
+    public Duration getDecayTime() {
+        return decayTime;
+    }
+
+    public void setDecayTime(Duration decayTime) {
+        this.decayTime = decayTime;
+    }
+
+    public Duration getInitialLatency() {
+        return initialLatency;
+    }
+
+    public void setInitialLatency(Duration initialLatency) {
+        this.initialLatency = initialLatency;
+    }
+
+    public int getFailureThreshold() {
+        return failureThreshold;
+    }
+
+    public void setFailureThreshold(int failureThreshold) {
+        this.failureThreshold = failureThreshold;
+    }
+
+    public Duration getBaseEjectionTime() {
+        return baseEjectionTime;
+    }
+
+    public void setBaseEjectionTime(Duration baseEjectionTime) {
+        this.baseEjectionTime = baseEjectionTime;
+    }
+
+    public Duration getMaxEjectionTime() {
+        return maxEjectionTime;
+    }
+
+    public void setMaxEjectionTime(Duration maxEjectionTime) {
+        this.maxEjectionTime = maxEjectionTime;
+    }
+
+    public int getMaxEjectionPercent() {
+        return maxEjectionPercent;
+    }
+
+    public void setMaxEjectionPercent(int maxEjectionPercent) {
+        this.maxEjectionPercent = maxEjectionPercent;
+    }
+}
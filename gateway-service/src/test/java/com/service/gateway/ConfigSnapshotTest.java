@@ -0,0 +1,50 @@
+package com.service.gateway;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.context.event.ApplicationEnvironmentPreparedEvent;
+import org.springframework.context.ApplicationEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.core.env.ConfigurableEnvironment;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConfigSnapshotTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void testStartup_LoadsSnapshotWhenConfigServerIsDown() throws Exception {
+        Path snapshot = directory.resolve("gateway-service.properties");
+        Files.writeString(snapshot, "server.port=8080\nspring.cloud.gateway.routes[0].id=customer-service\n");
+        SpringApplication application = new SpringApplication(GatewayApplication.class);
+        AtomicReference<ConfigurableEnvironment> prepared = new AtomicReference<>();
+        // Stop once the environment is ready; the post-processors have run by then.
+        application.addListeners((ApplicationListener<ApplicationEvent>) event -> {
+            if (event instanceof ApplicationEnvironmentPreparedEvent environmentPrepared) {
+                prepared.set(environmentPrepared.getEnvironment());
+                throw new EnvironmentPrepared();
+            }
+        });
+
+        assertThrows(EnvironmentPrepared.class, () -> application.run(
+                "--spring.cloud.config.enabled=true",
+                "--spring.config.import=optional:configserver:http://localhost:1",
+                "--config.snapshot.path=" + snapshot));
+
+        ConfigurableEnvironment environment = prepared.get();
+        assertTrue(environment.getPropertySources().contains("configSnapshot"));
+        assertEquals("8080", environment.getProperty("server.port"));
+        assertEquals("customer-service", environment.getProperty("spring.cloud.gateway.routes[0].id"));
+        assertEquals("gateway-service", environment.getProperty("spring.application.name"));
+    }
+
+    private static final class EnvironmentPrepared extends RuntimeException {
+    }
+}
@@ -0,0 +1,110 @@
+package com.service.gateway.benchmark;
+
+import com.service.gateway.GatewayApplication;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.server.HttpServer;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Latency added by the gateway per request: compares a request sent straight to
+ * a stub backend with the same request proxied through a fully started gateway.
+ * The difference between {@code viaGateway} and {@code direct} is the gateway's
+ * overhead. Run with {@code mvn -Pbenchmark test-compile exec:exec}; add
+ * {@code -Dbenchmark.args="-t 32"} to measure under concurrency.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class GatewayOverheadBenchmark {
+
+    private static final String CENTRAL_CONFIG = "../centralized-config/gateway-service.yml";
+
+    @Param({"false", "true"})
+    public boolean h2c;
+
+    private DisposableServer backend;
+    private ConfigurableApplicationContext gateway;
+    private HttpClient client;
+    private HttpRequest directRequest;
+    private HttpRequest gatewayRequest;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        String customers = IntStream.range(0, 100)
+                .mapToObj(i -> "{\"id\":" + i + ",\"name\":\"Customer " + i + "\",\"email\":\"customer" + i + "@example.com\"}")
+                .collect(Collectors.joining(",", "[", "]"));
+        backend = HttpServer.create()
+                .port(0)
+                .protocol(HttpProtocol.HTTP11, HttpProtocol.H2C)
+                .route(routes -> routes.get("/customers", (request, response) -> response
+                        .header("Content-Type", "application/json")
+                        .sendString(Mono.just(customers))))
+                .bindNow();
+
+        // The tuned client (pool, timeouts, upstream options) comes from the centralized config; only
+        // what points the gateway at the stub is overridden, as arguments so it wins over that file.
+        gateway = new SpringApplicationBuilder(GatewayApplication.class)
+                .run(
+                        "--spring.config.import=file:" + CENTRAL_CONFIG,
+                        "--server.port=0",
+                        "--eureka.client.enabled=false",
+                        "--spring.cloud.config.enabled=false",
+                        "--spring.cloud.bus.enabled=false",
+                        "--logging.level.root=WARN",
+                        "--gateway.upstream.h2c=" + h2c,
+                        "--spring.cloud.gateway.routes[0].id=customer-service",
+                        "--spring.cloud.gateway.routes[0].uri=http://localhost:" + backend.port(),
+                        "--spring.cloud.gateway.routes[0].predicates[0]=Path=/customers/**");
+        int gatewayPort = ((WebServerApplicationContext) gateway).getWebServer().getPort();
+
+        client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        directRequest = HttpRequest.newBuilder(URI.create("http://localhost:" + backend.port() + "/customers")).build();
+        gatewayRequest = HttpRequest.newBuilder(URI.create("http://localhost:" + gatewayPort + "/customers")).build();
+
+        if (gateway.getEnvironment().getProperty("spring.cloud.gateway.httpclient.pool.max-connections") == null) {
+            throw new IllegalStateException("Gateway started without the client settings of " + CENTRAL_CONFIG);
+        }
+        int status = client.send(gatewayRequest, HttpResponse.BodyHandlers.discarding()).statusCode();
+        if (status != 200) {
+            throw new IllegalStateException("Gateway answered " + status + " instead of proxying to the stub backend");
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        gateway.close();
+        backend.disposeNow();
+    }
+
+    @Benchmark
+    public String direct() throws Exception {
+        return client.send(directRequest, HttpResponse.BodyHandlers.ofString()).body();
+    }
+
+    @Benchmark
+    public String viaGateway() throws Exception {
+        return client.send(gatewayRequest, HttpResponse.BodyHandlers.ofString()).body();
+    }
+}
@@ -0,0 +1,102 @@
+package com.service.gateway.loadbalancer;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.client.DefaultServiceInstance;
+import org.springframework.cloud.client.ServiceInstance;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LatencyAwareLoadBalancerTest {
+
+    private final AtomicLong clock = new AtomicLong(1_000_000_000L);
+
+    private LatencyAwareProperties properties;
+    private InstanceStatsRegistry registry;
+    private LatencyAwareLoadBalancer loadBalancer;
+
+    private ServiceInstance fast;
+    private ServiceInstance slow;
+
+    @BeforeEach
+    void setUp() {
+        properties = new LatencyAwareProperties();
+        properties.setInitialLatency(Duration.ofMillis(1));
+        properties.setFailureThreshold(3);
+        properties.setBaseEjectionTime(Duration.ofSeconds(30));
+        registry = new InstanceStatsRegistry(properties, clock::get);
+        loadBalancer = new LatencyAwareLoadBalancer(null, registry, "customer-service");
+
+        fast = new DefaultServiceInstance("fast", "customer-service", "10.0.0.1", 8081, false);
+        slow = new DefaultServiceInstance("slow", "customer-service", "10.0.0.2", 8081, false);
+    }
+
+    @Test
+    void testChoose_PrefersLowerLatency() {
+        registry.requestSucceeded(fast, Duration.ofMillis(2).toNanos());
+        registry.requestSucceeded(slow, Duration.ofMillis(200).toNanos());
+
+        for (int i = 0; i < 20; i++) {
+            assertEquals("fast", loadBalancer.choose(List.of(fast, slow)).getServer().getInstanceId());
+        }
+    }
+
+    @Test
+    void testChoose_PenalisesOutstandingRequests() {
+        registry.requestSucceeded(fast, Duration.ofMillis(10).toNanos());
+        registry.requestSucceeded(slow, Duration.ofMillis(20).toNanos());
+        for (int i = 0; i < 5; i++) {
+            registry.requestStarted(fast);
+        }
+
+        assertEquals("slow", loadBalancer.choose(List.of(fast, slow)).getServer().getInstanceId());
+    }
+
+    @Test
+    void testRequestFailed_EjectsAfterThreshold() {
+        ServiceInstance third = new DefaultServiceInstance("third", "customer-service", "10.0.0.3", 8081, false);
+        registry.statsFor(fast);
+        registry.statsFor(third);
+
+        for (int i = 0; i < 3; i++) {
+            registry.requestStarted(slow);
+            registry.requestFailed(slow, Duration.ofSeconds(1).toNanos());
+        }
+
+        assertTrue(registry.isEjected(slow));
+        for (int i = 0; i < 20; i++) {
+            assertNotEquals("slow", loadBalancer.choose(List.of(fast, slow, third)).getServer().getInstanceId());
+        }
+
+        clock.addAndGet(Duration.ofSeconds(31).toNanos());
+        assertFalse(registry.isEjected(slow));
+    }
+
+    @Test
+    void testRequestFailed_RespectsMaxEjectionPercent() {
+        registry.statsFor(slow);
+        for (int i = 0; i < 3; i++) {
+            registry.requestFailed(fast, 0);
+        }
+        for (int i = 0; i < 3; i++) {
+            registry.requestFailed(slow, 0);
+        }
+
+        assertTrue(registry.isEjected(fast));
+        assertFalse(registry.isEjected(slow));
+    }
+
+    @Test
+    void testChoose_FailsOpenWhenAllEjected() {
+        properties.setMaxEjectionPercent(100);
+        for (int i = 0; i < 3; i++) {
+            registry.requestFailed(fast, 0);
+        }
+
+        assertEquals("fast", loadBalancer.choose(List.of(fast)).getServer().getInstanceId());
+    }
+}
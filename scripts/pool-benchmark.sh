@@ -0,0 +1,67 @@
+#!/usr/bin/env bash
+#
+# Throughput of one service under its default configuration and under the perf profile
+# (centralized-config/application-perf.yml and <service>-perf.yml): same jar, same database,
+# same load. Config-service, Eureka and the service's database must be running; the profile
+# only changes what config-service hands out. Requests go to the service directly, not
+# through the gateway.
+#
+# usage: scripts/pool-benchmark.sh <service-dir> <path> [requests] [concurrency]
+#   e.g. scripts/pool-benchmark.sh account-service /accounts/customer/1 20000 64
+
+set -euo pipefail
+
+service_dir=${1:?usage: $0 <service-dir> <path> [requests] [concurrency]}
+path=${2:?usage: $0 <service-dir> <path> [requests] [concurrency]}
+requests=${3:-20000}
+concurrency=${4:-64}
+
+port=${PORT:-18080}
+timeout_s=${TIMEOUT:-90}
+target="$service_dir/target"
+artifact=$(sed -n 's:^\t<artifactId>\(.*\)</artifactId>:\1:p' "$service_dir/pom.xml" | head -1)
+version=$(sed -n 's:^\t<version>\(.*\)</version>:\1:p' "$service_dir/pom.xml" | head -1)
+jar="$target/$artifact-$version.jar"
+[[ -f $jar ]] || { echo "$jar not found, run mvn package first" >&2; exit 1; }
+[[ $path == /* ]] || path="/$path"
+
+# One curl process drives all connections; every transfer prints its status and duration.
+load() {
+  local count=$1
+  curl -s --no-progress-meter -o /dev/null --parallel --parallel-immediate --parallel-max "$concurrency" \
+    -w '%{http_code} %{time_total}\n' "http://localhost:$port$path?n=[1-$count]"
+}
+
+run() {
+  local profile=$1 pid start elapsed_ms
+  java -jar "$jar" --server.port="$port" --spring.profiles.active="$profile" >"$target/pool-$profile.log" 2>&1 &
+  pid=$!
+  start=$(date +%s)
+  until curl -sf -o /dev/null "http://localhost:$port/actuator/health/readiness"; do
+    if ! kill -0 "$pid" 2>/dev/null || (( $(date +%s) - start >= timeout_s )); then
+      kill "$pid" 2>/dev/null || true
+      echo "$profile did not become ready, see $target/pool-$profile.log" >&2
+      return 1
+    fi
+    sleep 0.2
+  done
+
+  # Warm-up: JIT, connection pools and statement caches.
+  load $((requests / 5 + 1)) >/dev/null
+  start=$(date +%s%N)
+  load "$requests" >"$target/pool-$profile.samples"
+  elapsed_ms=$(( ($(date +%s%N) - start) / 1000000 ))
+  kill "$pid"
+  wait "$pid" 2>/dev/null || true
+
+  sort -n -k2 "$target/pool-$profile.samples" | awk -v profile="$profile" -v elapsed_ms="$elapsed_ms" '
+    { t[NR] = $2 * 1000; if ($1 != 200) errors++ }
+    END {
+      printf "%-8s %8d %10.0f %8d %8.1f %8.1f\n", profile, NR, NR * 1000 / elapsed_ms, errors,
+        t[int(NR * 0.5) + 1], t[int(NR * 0.99) + 1]
+    }'
+}
+
+printf '%-8s %8s %10s %8s %8s %8s\n' profile requests "req/s" errors "p50-ms" "p99-ms"
+run default
+run perf
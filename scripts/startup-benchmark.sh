@@ -0,0 +1,90 @@
+#!/usr/bin/env bash
+#
+# Measures time-to-readiness and resident memory of one service, for each build flavour found:
+#   jar     target/<name>.jar                         (mvn package)
+#   cds     target/cds/<name>.jar + application.jsa   (mvn -Pfast-startup package), AOT-processed when
+#           the service supports it
+#   native  target/<artifactId>                       (mvn -Pnative native:compile)
+#
+# Readiness is the first 200 from /actuator/health/readiness, i.e. the moment a new replica
+# can take traffic. Config-service, Eureka and the service's database should be running so the
+# numbers include fetching configuration and registering.
+#
+# usage: scripts/startup-benchmark.sh <service-dir> [runs] [-- extra application arguments]
+
+set -euo pipefail
+
+service_dir=${1:?usage: $0 <service-dir> [runs] [-- args]}
+shift
+runs=5
+if [[ $# -gt 0 && $1 != "--" ]]; then
+  runs=$1
+  shift
+fi
+[[ ${1:-} == "--" ]] && shift
+extra_args=("$@")
+
+port=${PORT:-18080}
+timeout_s=${TIMEOUT:-60}
+target="$service_dir/target"
+artifact=$(sed -n 's:^\t<artifactId>\(.*\)</artifactId>:\1:p' "$service_dir/pom.xml" | head -1)
+version=$(sed -n 's:^\t<version>\(.*\)</version>:\1:p' "$service_dir/pom.xml" | head -1)
+name="$artifact-$version"
+aot=false
+[[ -d $target/spring-aot/main ]] && aot=true
+app_args=(--server.port="$port" "${extra_args[@]}")
+
+command_for() {
+  case $1 in
+    jar)    echo "java -jar $target/$name.jar" ;;
+    cds)    echo "java -XX:SharedArchiveFile=$target/cds/application.jsa -Dspring.aot.enabled=$aot -jar $target/cds/$name.jar" ;;
+    native) echo "$target/$artifact" ;;
+  esac
+}
+
+available() {
+  case $1 in
+    jar)    [[ -f $target/$name.jar ]] ;;
+    cds)    [[ -f $target/cds/application.jsa ]] ;;
+    native) [[ -x $target/$artifact ]] ;;
+  esac
+}
+
+rss_kb() {
+  awk '/^VmRSS/ {print $2}' "/proc/$1/status"
+}
+
+measure() {
+  local flavour=$1 pid start now elapsed rss
+  start=$(date +%s%N)
+  # shellcheck disable=SC2046
+  $(command_for "$flavour") "${app_args[@]}" >"$target/startup-$flavour.log" 2>&1 &
+  pid=$!
+  until curl -sf -o /dev/null "http://localhost:$port/actuator/health/readiness"; do
+    now=$(date +%s%N)
+    if ! kill -0 "$pid" 2>/dev/null || (( (now - start) / 1000000000 >= timeout_s )); then
+      kill "$pid" 2>/dev/null || true
+      echo "$flavour did not become ready, see $target/startup-$flavour.log" >&2
+      return 1
+    fi
+    sleep 0.01
+  done
+  elapsed=$(( ($(date +%s%N) - start) / 1000000 ))
+  rss=$(rss_kb "$pid")
+  kill "$pid"
+  wait "$pid" 2>/dev/null || true
+  echo "$elapsed $rss"
+}
+
+printf '%-8s %6s %12s %12s %12s\n' flavour runs "ready-ms" "best-ms" "rss-mb"
+for flavour in jar cds native; do
+  available "$flavour" || continue
+  total=0 best= rss_total=0
+  for ((i = 0; i < runs; i++)); do
+    read -r ms kb < <(measure "$flavour")
+    total=$((total + ms))
+    rss_total=$((rss_total + kb))
+    [[ -z $best || $ms -lt $best ]] && best=$ms
+  done
+  printf '%-8s %6d %12d %12d %12d\n' "$flavour" "$runs" $((total / runs)) "$best" $((rss_total / runs / 1024))
+done